@@ -0,0 +1,182 @@
+package Model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * bitboard of the Andantino gameboard. It keeps two sets of 271 bits,
+ * one for each player (0: black, 1: white). The bit of a position is
+ * addressed by the index of the tile, see {@link HexTile#getIndex()}.
+ * So, checking if a position is occupied does not require to scan
+ * the list of the played tiles.
+ */
+public final class AndantinoBitBoard implements BitBoard {
+    /**
+     * number of 64-bits words needed to store 271 bits.
+     */
+    private static final int WORDS = (HexGeometry.SIZE + 63) / 64;
+
+    /**
+     * occupancy of the positions, with occupancy[i][j] where:
+     * <ul>
+     *     <li>i : color of the player (black = 0, white = 1)</li>
+     *     <li>j : word which contains the bit of the position</li>
+     * </ul>
+     */
+    private final long[][] occupancy;
+
+    /**
+     * number of tiles placed on the gameboard.
+     */
+    private int size;
+
+    /**
+     * constructs an empty bitboard.
+     */
+    public AndantinoBitBoard() {
+        occupancy = new long[2][WORDS];
+        size = 0;
+    }
+
+    /**
+     * constructs a bitboard with all the tiles of gameBoard.
+     * @param gameBoard tiles to place in the bitboard
+     */
+    public AndantinoBitBoard(List<Tile> gameBoard) {
+        this();
+        for (Tile tile : gameBoard)
+            place(tile);
+    }
+
+    /**
+     * places a tile of the specified player in the position index.
+     * @param index index of the position
+     * @param color color of the player
+     */
+    @Override
+    public void place(int index, int color) {
+        long[] words = occupancy[color];
+        if ((words[index >>> 6] & (1L << index)) == 0)
+            size++;
+        words[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * places tile in the bitboard.
+     * @param tile tile to place
+     */
+    @Override
+    public void place(Tile tile) {
+        place(tile.getIndex(), tile.getPlayer());
+    }
+
+    /**
+     * removes the tile of the specified player from the position index.
+     * @param index index of the position
+     * @param color color of the player
+     */
+    @Override
+    public void remove(int index, int color) {
+        long[] words = occupancy[color];
+        if ((words[index >>> 6] & (1L << index)) != 0)
+            size--;
+        words[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * removes tile from the bitboard.
+     * @param tile tile to remove
+     */
+    @Override
+    public void remove(Tile tile) {
+        remove(tile.getIndex(), tile.getPlayer());
+    }
+
+    /**
+     * checks if a position is occupied by one of the players.
+     * @param index index of the position
+     * @return true if the position is occupied, false otherwise
+     */
+    @Override
+    public boolean isOccupied(int index) {
+        return ((occupancy[0][index >>> 6] | occupancy[1][index >>> 6])
+                & (1L << index)) != 0;
+    }
+
+    /**
+     * checks if a position is occupied by the specified player.
+     * @param index index of the position
+     * @param color color of the player
+     * @return true if the position is occupied by color, false otherwise
+     */
+    @Override
+    public boolean isOccupied(int index, int color) {
+        return (occupancy[color][index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * packs the neighbours of a position occupied by a player in a mask
+     * of six bits, see {@link NeighbourPatterns}.
+     * @param index index of the position
+     * @param color color of the player
+     * @return mask with the bit d set if the neighbour in the direction d
+     * is occupied by color
+     */
+    @Override
+    public int getNeighbourMask(int index, int color) {
+        long[] words = occupancy[color];
+        int res = 0;
+        for (int direction = 0; direction < HexGeometry.DIRECTIONS; direction++) {
+            int neighbour = HexGeometry.getNeighbour(index, direction);
+            if (neighbour != -1)
+                res |= (int) (words[neighbour >>> 6] >>> neighbour & 1) << direction;
+        }
+        return res;
+    }
+
+    /**
+     * gets the color of the player who occupies a position.
+     * @param index index of the position
+     * @return color of the player, -1 if the position is empty
+     */
+    @Override
+    public int getColor(int index) {
+        if (isOccupied(index, 0))
+            return 0;
+        if (isOccupied(index, 1))
+            return 1;
+        return -1;
+    }
+
+    /**
+     * counts the tiles of the specified player.
+     * @param color color of the player
+     * @return number of tiles of color
+     */
+    @Override
+    public int count(int color) {
+        int res = 0;
+        for (long word : occupancy[color])
+            res += Long.bitCount(word);
+        return res;
+    }
+
+    /**
+     * gets the number of tiles in the bitboard.
+     * @return number of tiles of both players
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * removes all the tiles from the bitboard.
+     */
+    @Override
+    public void clear() {
+        for (long[] words : occupancy)
+            Arrays.fill(words, 0L);
+        size = 0;
+    }
+}
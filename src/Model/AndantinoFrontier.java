@@ -0,0 +1,153 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * frontier of the Andantino gameboard. It keeps, for every position,
+ * the number of its occupied neighbours and the set of the empty positions
+ * with at least two occupied neighbours, which are the legal moves.
+ * The frontier is updated incrementally every time a tile is placed or
+ * removed, so the legal moves are never computed by scanning the gameboard.
+ * It follows a bitboard, which must be updated before the frontier.
+ */
+public final class AndantinoFrontier implements Frontier {
+    /**
+     * bitboard of the gameboard followed by this frontier.
+     */
+    private final BitBoard board;
+
+    /**
+     * number of occupied neighbours of every position.
+     */
+    private final int[] neighboursCount;
+
+    /**
+     * legal moves, only the first @size elements are valid.
+     */
+    private final int[] moves;
+
+    /**
+     * position of every index in @moves, -1 if the index is not in the frontier.
+     */
+    private final int[] positions;
+
+    /**
+     * number of legal moves in the frontier.
+     */
+    private int size;
+
+    /**
+     * constructs a frontier which follows board. It adds all the
+     * tiles already placed in board.
+     * @param board bitboard of the gameboard
+     */
+    public AndantinoFrontier(BitBoard board) {
+        this.board = board;
+        neighboursCount = new int[HexGeometry.SIZE];
+        moves = new int[HexGeometry.SIZE];
+        positions = new int[HexGeometry.SIZE];
+        clear();
+        for (int index = 0; index < HexGeometry.SIZE; index++) {
+            if (board.isOccupied(index))
+                place(index);
+        }
+    }
+
+    /**
+     * adds index to the legal moves, if it is not already there.
+     * @param index index of the position to add
+     */
+    private void add(int index) {
+        if (positions[index] != -1)
+            return;
+        positions[index] = size;
+        moves[size++] = index;
+    }
+
+    /**
+     * removes index from the legal moves, if it is there. The last
+     * legal move takes its place.
+     * @param index index of the position to remove
+     */
+    private void delete(int index) {
+        int position = positions[index];
+        if (position == -1)
+            return;
+        int last = moves[--size];
+        moves[position] = last;
+        positions[last] = position;
+        positions[index] = -1;
+    }
+
+    /**
+     * updates the frontier after a tile has been placed in index.
+     * @param index index of the placed tile
+     */
+    @Override
+    public void place(int index) {
+        delete(index);
+        for (int direction = 0; direction < HexGeometry.DIRECTIONS; direction++) {
+            int neighbour = HexGeometry.getNeighbour(index, direction);
+            if (neighbour == -1)
+                continue;
+            if (++neighboursCount[neighbour] == 2 && !board.isOccupied(neighbour))
+                add(neighbour);
+        }
+    }
+
+    /**
+     * updates the frontier after the tile in index has been removed.
+     * @param index index of the removed tile
+     */
+    @Override
+    public void remove(int index) {
+        for (int direction = 0; direction < HexGeometry.DIRECTIONS; direction++) {
+            int neighbour = HexGeometry.getNeighbour(index, direction);
+            if (neighbour == -1)
+                continue;
+            if (--neighboursCount[neighbour] == 1 && !board.isOccupied(neighbour))
+                delete(neighbour);
+        }
+        if (neighboursCount[index] >= 2)
+            add(index);
+    }
+
+    /**
+     * checks if a position is a legal move.
+     * @param index index of the position
+     * @return true if the position is in the frontier, false otherwise
+     */
+    @Override
+    public boolean contains(int index) {
+        return positions[index] != -1;
+    }
+
+    /**
+     * gets the i-th legal move of the frontier.
+     * @param i position of the move, in [0, size())
+     * @return index of the legal move
+     */
+    @Override
+    public int getMove(int i) {
+        return moves[i];
+    }
+
+    /**
+     * gets the number of legal moves.
+     * @return size of the frontier
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * removes all the positions from the frontier.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(neighboursCount, 0);
+        Arrays.fill(positions, -1);
+        size = 0;
+    }
+}
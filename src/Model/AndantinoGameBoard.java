@@ -2,6 +2,8 @@ package Model;
 
 import Model.Supervisor.GameSupervisor;
 import Model.Supervisor.AndantinoSupervisor;
+import Model.SearchGameTree.AndantinoSearchPosition;
+import Model.SearchGameTree.SearchPosition;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -46,10 +48,15 @@ public final class AndantinoGameBoard implements GameBoard {
      */
     private final GameSupervisor supervisor;
     /**
-    * store the played tiles by the players. Does not store the blank tiles.
-    * Always add elements to the end of the list to ease the undo of the turn.
+    * store the played tiles by the players, together with their bitboard
+    * and the legal moves. Does not store the blank tiles.
     */
-    private List<Tile> gameBoard;
+    private SearchPosition position;
+
+    /**
+     * buffer for the indexes of the legal moves.
+     */
+    private final int[] legalMoves;
 
     /**
     * constructs a gameboard with a list of tiles containing only the center.
@@ -61,100 +68,21 @@ public final class AndantinoGameBoard implements GameBoard {
         playerTurn = 1;
         winner = -1;
         endGame = false;
-        gameBoard = new ArrayList<>();
-        gameBoard.add(new HexTile(0, 0, 0, 0)); // add center
+        position = newPosition();
+        legalMoves = new int[HexGeometry.SIZE];
         supervisor = new AndantinoSupervisor();
         players[0] = null;
         players[1] = null;
     }
 
     /**
-     * determines if @tile is out of bounds. The gameboard is
-     * assumed to be a 10x10 with 271 tiles.
-     * @param x axis X of the tile to check
-     * @param y axis Y of the tile to check
-     * @param z axis Z of the tile to check
-     * @return returns true if @tile is out of bounds, false
-     * otherwise
-     */
-    private static boolean isOutOfBounds(int x, int y, int z) {
-        if(
-                x < -9 || x > 9 ||
-                y < -9 || y > 9 ||
-                z < -9 || z > 9
-        )
-            return true;
-        return false;
-    }
-
-
-    /**
-     * checks if tile is adjacent to the center (0,0,0).
-     * @param tile tile to check if it's adjacent
-     * @return true if @tile is adjacent to the center
+     * creates a position containing only the center.
+     * @return starting position of a game
      */
-    private static boolean isAdjacentToCenter(Tile tile) {
-            return ( // center coordinates: 0,0,0
-                    Math.abs(tile.getX()) +
-                            Math.abs(tile.getY()) +
-                            Math.abs(tile.getZ())
-            )
-                    / 2 == 1;
-    }
-
-    /**
-     * checks if a position already exists in the gameboard with
-     * the specified axis values.
-     * @param gameBoard gameboard to in which to check if the tile already exists
-     * @param x axis X of the tile to check
-     * @param y axis Y of the tile to check
-     * @param z axis Z of the tile to check
-     * @return true if the position already exists, false otherwise
-     */
-    private static boolean existsPosition(List<Tile> gameBoard, int x, int y, int z) {
-        return gameBoard.stream()
-                .anyMatch(tile ->
-                        tile.getX() == x &&
-                                tile.getY() == y &&
-                                tile.getZ() == z);
-    }
-
-    /**
-     * checks if tile is adjacent to at least two existing tiles in the boardgame.
-     * @param gameBoard gameboard to check
-     * @param x axis X of the tile to check
-     * @param y axis Y of the tile to check
-     * @param z axis Z of the tile to check
-     * @return true if @tile is adjacent to at least two existing tiles (distance equals 1)
-     */
-    private static boolean isAdjacent(List<Tile> gameBoard, int x, int y, int z) {
-        return gameBoard.stream()
-                .filter(currTile ->
-                        (
-                                Math.abs(x - currTile.getX()) +
-                                        Math.abs(y - currTile.getY()) +
-                                        Math.abs(z - currTile.getZ())
-                        ) / 2 == 1)
-                .count() >= 2;
-    }
-
-
-    /**
-     * checks if tile is adjacent to at least two existing tiles in the boardgame.
-     * @param x axis X of the tile to check
-     * @param y axis Y of the tile to check
-     * @param z axis Z of the tile to check
-    * @return true if @tile is adjacent to at least two existing tiles (distance equals 1)
-    */
-    private boolean isAdjacent(int x, int y, int z) {
-             return gameBoard.stream()
-                     .filter(currTile ->
-                                     (
-                                            Math.abs(x - currTile.getX()) +
-                                            Math.abs(y - currTile.getY()) +
-                                            Math.abs(z - currTile.getZ())
-                                     ) / 2 == 1)
-                     .count() >= 2;
+    private static SearchPosition newPosition() {
+        List<Tile> gameBoard = new ArrayList<>();
+        gameBoard.add(HexTile.valueOf(0, 0)); // add center
+        return new AndantinoSearchPosition(gameBoard);
     }
 
     /**
@@ -174,69 +102,58 @@ public final class AndantinoGameBoard implements GameBoard {
            int x = generator.nextInt(3) - 1;
            int y = generator.nextInt(3) - 1;
            if((x + y) == -1)
-               return new HexTile(x, y, 1, 1);
+               return HexTile.valueOf(x, y, 1, 1);
            counter++;
        }
-        return new HexTile(-1, 1, 0, 1);
+        return HexTile.valueOf(-1, 1, 0, 1);
+    }
+
+    /**
+     * creates a list with the legal moves of a frontier.
+     * @param frontier frontier of the gameboard
+     * @param color color of the tiles to add
+     * @return list of tiles with all legal moves in frontier
+     */
+    private static List<Tile> getLegalMoves(Frontier frontier, int color) {
+        List<Tile> result = new ArrayList<>(frontier.size());
+        for (int i = 0; i < frontier.size(); i++) {
+            result.add(HexTile.valueOf(frontier.getMove(i), color));
+        }
+        return result;
     }
 
     /**
      * creates a list of all the legal moves for the gameboard
      * configuration passed as parameter.
-     * Remember that the sum of all axis is zero for each tile.
+     * The legal moves are read from a frontier, which is built with
+     * a single pass over gameboard.
      * @param gameboard representation of the Andantino gameboard
      * @param color color of the tiles to add
      * @return list of tiles with all legal moves for the next player
      */
     public static List<Tile> getAllLegalMoves(List<Tile> gameboard, int color) {
-        List<Tile> result = new ArrayList<>();
         if(gameboard.size() == 1) {
+            List<Tile> result = new ArrayList<>();
             result.add(generateFirstMove());
             return result;
         }
-        for (Tile tile : gameboard) {
-            // north east
-            int x = tile.getX() + 1, y = tile.getY(), z = tile.getZ() - 1;
-            if(!existsPosition(gameboard, x, y, z) && !existsPosition(result, x, y, z) &&
-                    !isOutOfBounds(x, y, z) && isAdjacent(gameboard, x, y, z))
-                result.add(new HexTile(x, y, z, color));
-            // east
-            x = tile.getX() + 1;
-            y = tile.getY() - 1;
-            z = tile.getZ();
-            if(!existsPosition(gameboard, x, y, z) && !existsPosition(result, x, y, z) &&
-                    !isOutOfBounds(x, y, z) && isAdjacent(gameboard, x, y, z))
-                result.add(new HexTile(x, y, z, color));
-            // south east
-            x = tile.getX();
-            y = tile.getY() - 1;
-            z = tile.getZ() + 1;
-            if(!existsPosition(gameboard, x, y, z) && !existsPosition(result, x, y, z) &&
-                    !isOutOfBounds(x, y, z) && isAdjacent(gameboard, x, y, z))
-                result.add(new HexTile(x, y, z, color));
-            // south west
-            x = tile.getX() - 1;
-            y = tile.getY();
-            z = tile.getZ() + 1;
-            if(!existsPosition(gameboard, x, y, z) && !existsPosition(result, x, y, z) &&
-                    !isOutOfBounds(x, y, z) && isAdjacent(gameboard, x, y, z))
-                result.add(new HexTile(x, y, z, color));
-            // west
-            x = tile.getX() - 1;
-            y = tile.getY() + 1;
-            z = tile.getZ();
-            if(!existsPosition(gameboard, x, y, z) && !existsPosition(result, x, y, z) &&
-                    !isOutOfBounds(x, y, z) && isAdjacent(gameboard, x, y, z))
-                result.add(new HexTile(x, y, z, color));
-            // north west
-            x = tile.getX();
-            y = tile.getY() + 1;
-            z = tile.getZ() - 1;
-            if(!existsPosition(gameboard, x, y, z) && !existsPosition(result, x, y, z) &&
-                    !isOutOfBounds(x, y, z) && isAdjacent(gameboard, x, y, z))
-                result.add(new HexTile(x, y, z, color));
+        return getLegalMoves(new AndantinoFrontier(new AndantinoBitBoard(gameboard)), color);
+    }
+
+    /**
+     * creates a list of all the legal moves for the player who has the
+     * current turn. It reads the frontier of the position, which is updated
+     * on every move and undo, so it does not scan the gameboard.
+     * @return list of tiles with all legal moves for the next player
+     */
+    @Override
+    public List<Tile> getLegalMoves() {
+        int size = position.getLegalMoves(legalMoves);
+        List<Tile> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(HexTile.valueOf(legalMoves[i], playerTurn));
         }
-       return result;
+        return result;
     }
 
     /**
@@ -306,18 +223,18 @@ public final class AndantinoGameBoard implements GameBoard {
     */
     @Override
     public void move(Tile tile) {
-        gameBoard.add(tile);
+        position.makeMove(tile.getIndex());
         playerTurn ^= 1;
     }
 
     /**
     * makes the bot player make a move.
-    * @return the last added tile to @gameBoard
+    * @return the last added tile to @position
     */
     @Override
     public Tile makeBotMove() {
-        Tile tile = players[botIndex].move(gameBoard);
-        gameBoard.add(tile);
+        Tile tile = players[botIndex].move(position.getTiles());
+        position.makeMove(tile.getIndex());
         playerTurn ^= 1;
         return tile;
     }
@@ -331,10 +248,9 @@ public final class AndantinoGameBoard implements GameBoard {
         botVsHumanGame = false;
         playerTurn = 1;
         endGame = false;
-        gameBoard.clear();
         players[0] = null;
         players[1] = null;
-        gameBoard.add(new HexTile(0, 0, 0, 0));
+        position = newPosition();
     }
 
     /**
@@ -342,19 +258,14 @@ public final class AndantinoGameBoard implements GameBoard {
     * tile is already occupied;
     * there is only the center and tile has a distance > 1 from it;
     * tile is not adjacent to at least two existing tile on the gameboard.
-    * So, it searches for @tile inside gameBoard. If a match is found the tile has
-    * already been played. Also, for the move to be legal, @tile must be placed
-    * adjacent to at least two existing tiles.
+    * So, it checks if @tile is in the frontier, which contains only the empty
+    * positions adjacent to at least two existing tiles.
     * @param tile tile to look for
     * @return true if the tile is occupied else false
     */
     @Override
     public boolean isMoveIllegal(Tile tile) {
-        if(gameBoard.size() == 1 && isAdjacentToCenter(tile))
-            return false;
-        return gameBoard.stream()
-                .anyMatch(t -> t.equalsAxis(tile)) ||
-                !isAdjacent(tile.getX(), tile.getY(), tile.getZ());
+        return !position.isLegalMove(tile.getIndex());
     }
 
     /**
@@ -364,17 +275,19 @@ public final class AndantinoGameBoard implements GameBoard {
     */
     @Override
     public boolean isDraw() {
-        return endGame = supervisor.isDraw(gameBoard);
+        return endGame = supervisor.isDraw(position.getTiles());
     }
 
     /**
      * determines if a game results in a win.
+     * Only the lines and the neighbours of tile are checked.
+     * It assumes tile is the last placed tile of the position.
      * @param tile last placed tile
      * @return true if a player has won, false otherwise
      */
     @Override
     public boolean hasWon(Tile tile) {
-        endGame = supervisor.hasWon(tile.getPlayer(), gameBoard);
+        endGame = supervisor.hasWon(position);
         if (endGame)
             winner = tile.getPlayer();
         return endGame;
@@ -382,21 +295,30 @@ public final class AndantinoGameBoard implements GameBoard {
 
     /**
     * undo the last played move. So, it has to:
-    * remove last played tile from @gameBoard;
+    * remove last played tile from @position;
     * switch the value of @playerTurn;
-    * Note that it can not undo the last move if @gameBoard contains
+    * Note that it can not undo the last move if @position contains
     * only the center tile. This, because the center tile is the starting position.
     * @return returns the last played tile
     */
     @Override
     public Tile undo() {
-        if(gameBoard.size() > 1) { // at least 2 tiles in @gameBoard
+        if(position.size() > 1) { // at least 2 tiles in @position
             playerTurn ^= 1;
-            return gameBoard.remove(gameBoard.size() - 1);
+            return position.unmakeMove();
         }
         return null;
     }
 
+    /**
+     * gets the bitboard of the played tiles.
+     * @return bitboard of the gameboard
+     */
+    @Override
+    public BitBoard getBitBoard() {
+        return position.getBitBoard();
+    }
+
     /**
     * determines if player1 is null.
      * @return true if the player1 is null, false otherwise
@@ -0,0 +1,269 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * groups of the Andantino gameboard, kept in a union-find structure.
+ * For every group it counts:
+ * <ul>
+ *     <li>the pseudo-liberties, which are the pairs (tile, empty neighbour),
+ *     so an empty position next to two tiles of the group is counted twice;</li>
+ *     <li>the edges, which are the pairs (tile, neighbour out of bounds).</li>
+ * </ul>
+ * A group is enclosed when both values are 0: every neighbour of the group
+ * is a tile of the other player. Placing a tile only merges the groups next
+ * to it, and removing the last placed tile restores the previous state, by
+ * rolling back the changes saved in a log. So, there is no path compression
+ * (union by size keeps the trees balanced) and the tiles must be removed
+ * in the reverse order they were placed.
+ * It follows a bitboard, which must be updated before the groups.
+ * @see <a href="https://en.wikipedia.org/wiki/Disjoint-set_data_structure">Union-find</a>
+ */
+public final class AndantinoGroupTracker implements GroupTracker {
+    /**
+     * indexes of the values kept for every position, in @values.
+     */
+    private static final int PARENT = 0;
+    private static final int STONES = 1;
+    private static final int LIBERTIES = 2;
+    private static final int EDGES = 3;
+
+    /**
+     * maximum number of changes made by a single tile: the new group,
+     * a pseudo-liberty for every neighbour and the merge of up to
+     * three groups.
+     */
+    private static final int MAX_CHANGES = 4 + HexGeometry.DIRECTIONS + 3 * 4;
+
+    /**
+     * bitboard of the gameboard followed by these groups.
+     */
+    private final BitBoard board;
+
+    /**
+     * values of every position, with values[i][j] where:
+     * <ul>
+     *     <li>i : PARENT, STONES, LIBERTIES or EDGES</li>
+     *     <li>j : index of the position</li>
+     * </ul>
+     * Only the values of the root of a group are meaningful, except for
+     * PARENT which is meaningful for every tile (a root is its own parent).
+     */
+    private final int[][] values;
+
+    /**
+     * log of the changes to @values, each change is saved as the
+     * value (i * SIZE + j) in logSlots and the old value in logValues.
+     */
+    private final int[] logSlots;
+    private final int[] logValues;
+
+    /**
+     * number of changes in the log.
+     */
+    private int logSize;
+
+    /**
+     * size of the log before every placed tile, with marks[tile].
+     */
+    private final int[] marks;
+
+    /**
+     * number of placed tiles since the construction.
+     */
+    private int placed;
+
+    /**
+     * constructs the groups which follow board. It adds all the
+     * tiles already placed in board.
+     * @param board bitboard of the gameboard
+     */
+    public AndantinoGroupTracker(BitBoard board) {
+        this.board = board;
+        values = new int[4][HexGeometry.SIZE];
+        logSlots = new int[HexGeometry.SIZE * MAX_CHANGES];
+        logValues = new int[HexGeometry.SIZE * MAX_CHANGES];
+        marks = new int[HexGeometry.SIZE];
+        build();
+    }
+
+    /**
+     * builds the groups of all the tiles in the bitboard, with an empty log.
+     */
+    private void build() {
+        clear();
+        for (int index = 0; index < HexGeometry.SIZE; index++) {
+            if (board.isOccupied(index)) {
+                // the values are counted on the full board, so the tiles
+                // already added do not lose a liberty
+                newGroup(index);
+                mergeNeighbours(index, index);
+            }
+        }
+        logSize = 0;
+    }
+
+    /**
+     * changes a value and saves the old one in the log.
+     * @param field PARENT, STONES, LIBERTIES or EDGES
+     * @param index index of the position
+     * @param value new value
+     */
+    private void set(int field, int index, int value) {
+        logSlots[logSize] = field * HexGeometry.SIZE + index;
+        logValues[logSize++] = values[field][index];
+        values[field][index] = value;
+    }
+
+    /**
+     * creates a group with the single tile in index.
+     * @param index index of the tile
+     */
+    private void newGroup(int index) {
+        int liberties = 0, edges = 0;
+        for (int direction = 0; direction < HexGeometry.DIRECTIONS; direction++) {
+            int neighbour = HexGeometry.getNeighbour(index, direction);
+            if (neighbour == -1)
+                edges++;
+            else if (!board.isOccupied(neighbour))
+                liberties++;
+        }
+        set(PARENT, index, index);
+        set(STONES, index, 1);
+        set(LIBERTIES, index, liberties);
+        set(EDGES, index, edges);
+    }
+
+    /**
+     * merges the group of index with the groups of its neighbours with the
+     * same color. Only the neighbours with an index lower than limit are
+     * merged, which are the tiles already added during the construction.
+     * @param index index of the tile
+     * @param limit upper bound (excluded) of the neighbours to merge
+     */
+    private void mergeNeighbours(int index, int limit) {
+        int color = board.getColor(index);
+        for (int direction = 0; direction < HexGeometry.DIRECTIONS; direction++) {
+            int neighbour = HexGeometry.getNeighbour(index, direction);
+            if (neighbour != -1 && neighbour < limit && board.isOccupied(neighbour, color))
+                union(index, neighbour);
+        }
+    }
+
+    /**
+     * merges two groups, the smaller one becomes a child of the bigger one.
+     * @param a index of a tile of the first group
+     * @param b index of a tile of the second group
+     */
+    private void union(int a, int b) {
+        int rootA = find(a), rootB = find(b);
+        if (rootA == rootB)
+            return;
+        if (values[STONES][rootA] < values[STONES][rootB]) {
+            int tmp = rootA;
+            rootA = rootB;
+            rootB = tmp;
+        }
+        set(PARENT, rootB, rootA);
+        set(STONES, rootA, values[STONES][rootA] + values[STONES][rootB]);
+        set(LIBERTIES, rootA, values[LIBERTIES][rootA] + values[LIBERTIES][rootB]);
+        set(EDGES, rootA, values[EDGES][rootA] + values[EDGES][rootB]);
+    }
+
+    /**
+     * adds the tile placed in index. Every group next to index loses
+     * a pseudo-liberty, then the tile is merged with its mates.
+     * @param index index of the placed tile
+     */
+    @Override
+    public void place(int index) {
+        marks[placed++] = logSize;
+        for (int direction = 0; direction < HexGeometry.DIRECTIONS; direction++) {
+            int neighbour = HexGeometry.getNeighbour(index, direction);
+            if (neighbour != -1 && board.isOccupied(neighbour)) {
+                int root = find(neighbour);
+                set(LIBERTIES, root, values[LIBERTIES][root] - 1);
+            }
+        }
+        newGroup(index);
+        mergeNeighbours(index, HexGeometry.SIZE);
+    }
+
+    /**
+     * removes the tile in index, rolling back the changes made when it
+     * was placed. It must be the last placed tile. If the tile was already
+     * in the bitboard when the groups were built, there is nothing to roll
+     * back, so the groups are built again.
+     * @param index index of the removed tile
+     */
+    @Override
+    public void remove(int index) {
+        if (placed == 0) {
+            build();
+            return;
+        }
+        int mark = marks[--placed];
+        while (logSize > mark) {
+            int slot = logSlots[--logSize];
+            values[slot / HexGeometry.SIZE][slot % HexGeometry.SIZE] = logValues[logSize];
+        }
+    }
+
+    /**
+     * finds the root of the group of a tile.
+     * @param index index of the tile
+     * @return index of the root of its group
+     */
+    @Override
+    public int find(int index) {
+        int[] parent = values[PARENT];
+        while (parent[index] != index)
+            index = parent[index];
+        return index;
+    }
+
+    /**
+     * counts the tiles in the group of a tile.
+     * @param index index of the tile
+     * @return number of tiles in its group
+     */
+    @Override
+    public int countStones(int index) {
+        return values[STONES][find(index)];
+    }
+
+    /**
+     * counts the pseudo-liberties of the group of a tile.
+     * @param index index of the tile
+     * @return number of pairs (tile of the group, empty neighbour)
+     */
+    @Override
+    public int countLiberties(int index) {
+        return values[LIBERTIES][find(index)];
+    }
+
+    /**
+     * checks if the group of a tile is enclosed by the other player.
+     * @param index index of the tile
+     * @return true if the group has no empty neighbour and it does not touch
+     * the border of the gameboard, false otherwise
+     */
+    @Override
+    public boolean isEnclosed(int index) {
+        int root = find(index);
+        return values[LIBERTIES][root] == 0 && values[EDGES][root] == 0;
+    }
+
+    /**
+     * removes all the groups and the log.
+     */
+    @Override
+    public void clear() {
+        for (int[] field : values)
+            Arrays.fill(field, 0);
+        for (int index = 0; index < HexGeometry.SIZE; index++)
+            values[PARENT][index] = index;
+        logSize = 0;
+        placed = 0;
+    }
+}
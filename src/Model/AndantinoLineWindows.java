@@ -0,0 +1,204 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * windows of five positions of the Andantino gameboard.
+ * The windows are listed once, when the class is loaded: a window starts
+ * from every position with four more positions in the direction NORTH_EAST,
+ * EAST or SOUTH_EAST (the other directions give the same windows, backwards).
+ * For every position it also keeps the windows which contain it, at most
+ * five for each axis.
+ * An instance counts the tiles of each player in every window and the
+ * number of open windows: a window is open for a player if it contains
+ * only tiles of that player, so it could still become a row of five.
+ * The counts are updated incrementally every time a tile is placed or removed.
+ */
+public final class AndantinoLineWindows implements LineWindows {
+    /**
+     * number of positions in a window.
+     */
+    public static final int LENGTH = HexGeometry.RAY_LENGTH + 1;
+
+    /**
+     * positions of every window, with cells[window][i], i in [0, LENGTH).
+     */
+    private static final int[][] cells;
+
+    /**
+     * windows which contain a position, with windowsOf[index][i].
+     */
+    private static final int[][] windowsOf;
+
+    /**
+     * number of windows in the gameboard.
+     */
+    public static final int WINDOWS;
+
+    static {
+        int[][] windows = new int[HexGeometry.SIZE * 3][];
+        int[] counts = new int[HexGeometry.SIZE];
+        int size = 0;
+        for (int index = 0; index < HexGeometry.SIZE; index++) {
+            for (int direction = HexGeometry.NORTH_EAST; direction <= HexGeometry.SOUTH_EAST; direction++) {
+                if (HexGeometry.getRay(index, direction, HexGeometry.RAY_LENGTH - 1) == -1)
+                    continue; // the window goes out of bounds
+                int[] window = new int[LENGTH];
+                window[0] = index;
+                for (int step = 0; step < HexGeometry.RAY_LENGTH; step++)
+                    window[step + 1] = HexGeometry.getRay(index, direction, step);
+                for (int cell : window)
+                    counts[cell]++;
+                windows[size++] = window;
+            }
+        }
+        WINDOWS = size;
+        cells = Arrays.copyOf(windows, size);
+        windowsOf = new int[HexGeometry.SIZE][];
+        for (int index = 0; index < HexGeometry.SIZE; index++)
+            windowsOf[index] = new int[counts[index]];
+        Arrays.fill(counts, 0);
+        for (int window = 0; window < WINDOWS; window++) {
+            for (int cell : cells[window])
+                windowsOf[cell][counts[cell]++] = window;
+        }
+    }
+
+    /**
+     * tiles of every player in every window, with stones[color][window].
+     */
+    private final int[][] stones;
+
+    /**
+     * open windows of every player, with open[color][n] equal to the
+     * number of windows with n tiles of color and none of the other player.
+     */
+    private final int[][] open;
+
+    /**
+     * constructs the windows of an empty gameboard.
+     */
+    public AndantinoLineWindows() {
+        stones = new int[2][WINDOWS];
+        open = new int[2][LENGTH + 1];
+        clear();
+    }
+
+    /**
+     * constructs the windows with all the tiles of board.
+     * @param board bitboard of the gameboard
+     */
+    public AndantinoLineWindows(BitBoard board) {
+        this();
+        for (int index = 0; index < HexGeometry.SIZE; index++) {
+            int color = board.getColor(index);
+            if (color != -1)
+                place(index, color);
+        }
+    }
+
+    /**
+     * gets a position of a window.
+     * @param window index of the window, in [0, WINDOWS)
+     * @param i position in the window, in [0, LENGTH)
+     * @return index of the position
+     */
+    public static int getCell(int window, int i) {
+        return cells[window][i];
+    }
+
+    /**
+     * counts the windows which contain a position.
+     * @param index index of the position
+     * @return number of windows of index
+     */
+    public static int countWindows(int index) {
+        return windowsOf[index].length;
+    }
+
+    /**
+     * gets a window which contains a position.
+     * @param index index of the position
+     * @param i number of the window, in [0, countWindows(index))
+     * @return index of the window
+     */
+    public static int getWindow(int index, int i) {
+        return windowsOf[index][i];
+    }
+
+    /**
+     * adds a tile of the specified player in the position index.
+     * Every window of index which was open for color has one more tile,
+     * every window which was open for the other player is closed.
+     * @param index index of the position
+     * @param color color of the player
+     */
+    @Override
+    public void place(int index, int color) {
+        int[] own = stones[color], enemy = stones[color ^ 1];
+        for (int window : windowsOf[index]) {
+            if (enemy[window] == 0) {
+                open[color][own[window]]--;
+                open[color][own[window] + 1]++;
+            }
+            if (own[window] == 0)
+                open[color ^ 1][enemy[window]]--;
+            own[window]++;
+        }
+    }
+
+    /**
+     * removes the tile of the specified player from the position index.
+     * It is the reverse of {@link #place(int, int)}.
+     * @param index index of the position
+     * @param color color of the player
+     */
+    @Override
+    public void remove(int index, int color) {
+        int[] own = stones[color], enemy = stones[color ^ 1];
+        for (int window : windowsOf[index]) {
+            own[window]--;
+            if (enemy[window] == 0) {
+                open[color][own[window] + 1]--;
+                open[color][own[window]]++;
+            }
+            if (own[window] == 0)
+                open[color ^ 1][enemy[window]]++;
+        }
+    }
+
+    /**
+     * counts the tiles of a player in a window.
+     * @param window index of the window
+     * @param color color of the player
+     * @return number of tiles of color in window
+     */
+    @Override
+    public int getCount(int window, int color) {
+        return stones[color][window];
+    }
+
+    /**
+     * counts the open windows of a player with the specified number of tiles.
+     * @param color color of the player
+     * @param stones number of tiles of color, in [0, LENGTH]
+     * @return number of windows with stones tiles of color and none of the other player
+     */
+    @Override
+    public int countOpen(int color, int stones) {
+        return open[color][stones];
+    }
+
+    /**
+     * removes all the tiles, so every window is open and empty.
+     */
+    @Override
+    public void clear() {
+        for (int[] counts : stones)
+            Arrays.fill(counts, 0);
+        for (int[] counts : open) {
+            Arrays.fill(counts, 0);
+            counts[0] = WINDOWS;
+        }
+    }
+}
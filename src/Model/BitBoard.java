@@ -0,0 +1,19 @@
+package Model;
+
+/**
+ * bitboard representation of a gameboard. Every position of
+ * the gameboard is a bit, which is addressed by the index of the tile.
+ */
+public interface BitBoard {
+    void place(int index, int color);
+    void place(Tile tile);
+    void remove(int index, int color);
+    void remove(Tile tile);
+    boolean isOccupied(int index);
+    boolean isOccupied(int index, int color);
+    int getNeighbourMask(int index, int color);
+    int getColor(int index);
+    int count(int color);
+    int size();
+    void clear();
+}
@@ -1,21 +1,51 @@
 package Model;
 import Model.Expert.*;
-import Model.SearchGameTree.AndantinoNode;
-import Model.SearchGameTree.Node;
+import Model.SearchGameTree.AndantinoMoveOrdering;
+import Model.SearchGameTree.AndantinoSearchPosition;
+import Model.SearchGameTree.AndantinoThreatGenerator;
+import Model.SearchGameTree.AndantinoThreatSpaceSearch;
+import Model.SearchGameTree.MoveOrdering;
+import Model.SearchGameTree.SearchPosition;
+import Model.SearchGameTree.ThreatGenerator;
+import Model.SearchGameTree.ThreatSpaceSearch;
+import Model.Supervisor.AndantinoSupervisor;
+import Model.Supervisor.GameSupervisor;
+import Model.TranspositionTables.AndantinoEvaluationCache;
 import Model.TranspositionTables.AndantinoTranspositionTable;
 import Model.TranspositionTables.EntryInfo;
+import Model.TranspositionTables.EvaluationCache;
 import Model.TranspositionTables.TranspositionTable;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * represents the AI player in the game.
  * To find the next move it implements a search in a NegaMax
  * framework, combined with a transposition table. It also
  * tries to take advantage of the Iterative deepening and
- * minimal window search.
+ * minimal window search. The search makes and unmakes the moves
+ * on a single {@link SearchPosition}, so it never copies the gameboard.
+ * The search can run on several threads (Lazy SMP, see
+ * {@link #setThreads(int)}): every thread searches the same root with
+ * its own position, and they share the transposition table; or the moves
+ * of a position can be split between the threads (Young Brothers Wait,
+ * see {@link #setYoungBrothersWait(boolean)}).
+ * @see <a href="https://www.chessprogramming.org/Lazy_SMP">Lazy SMP</a>
  */
 public final class BotPlayer implements Player {
     /**
@@ -23,170 +53,1123 @@ public final class BotPlayer implements Player {
      */
     private final int color;
     /**
-     * adds random factor to the evaluation.
+     * adds random factor to the evaluation, it depends only on
+     * the position and on the seed of the game.
      */
-    private Random randomExpert;
+    private final RandomExpert randomExpert;
 
     /**
-     * list of experts to evaluates features of
-     * a terminal position.
+     * evaluator of the search positions, it applies the weights of the experts.
+     * Every search thread uses a copy of it.
      */
-    private final List<Expert> experts;
+    private final Evaluator evaluator;
 
     /**
-     * transposition table.
+     * experts whose features are accumulated by the search positions.
+     */
+    private final List<IncrementalExpert> incrementalExperts;
+
+    /**
+     * cache of the evaluations, addressed by the Zobrist key of a position.
+     */
+    private final EvaluationCache evaluationCache;
+
+    /**
+     * supervisor to detect the end of the game during the search.
+     */
+    private final GameSupervisor supervisor;
+
+    /**
+     * transposition table, shared by all the search threads.
      */
     private TranspositionTable table;
 
     /**
-     * Constructs a bot player.
+     * number of bits of the key used to address the transposition table.
+     */
+    private int tableBits;
+
+    /**
+     * searches of the threads, workers[0] is the main search, which runs
+     * on the thread that invokes {@link #move(List)}; the others are the
+     * helpers of the Lazy SMP search.
+     */
+    private SearchWorker[] workers;
+
+    /**
+     * threads of the helpers, null if the search is single-threaded.
+     */
+    private ExecutorService helpers;
+
+    /**
+     * pool of the Young Brothers Wait search, null if the search is
+     * single-threaded or a Lazy SMP.
+     */
+    private ForkJoinPool splitPool;
+
+    /**
+     * number of threads of the search.
+     */
+    private int threads;
+
+    /**
+     * true if the threads split the moves of a position (Young Brothers
+     * Wait), false if they search the whole tree (Lazy SMP).
+     */
+    private boolean youngBrothersWait;
+
+    /**
+     * number of positions searched by the tasks of the Young Brothers Wait search.
+     */
+    private final LongAdder splitNodes;
+
+    /**
+     * idle searches of the tasks of the Young Brothers Wait search. A task
+     * takes one and gives it back when it is done, so a search is reused
+     * by the next tasks and it is never used by two tasks at the same time.
+     * They are not kept by thread, because a thread which waits for the
+     * tasks of its split point runs other tasks in the meantime.
+     */
+    private final Queue<SearchWorker> splitWorkers;
+
+    /**
+     * gameboard of the current search, the root of the split workers.
+     */
+    private List<Tile> rootBoard;
+
+    /**
+     * true if the moves are ordered by the hash move, the killer moves and
+     * the history, false if they are searched in the order of the frontier.
+     */
+    private boolean moveOrdering;
+
+    /**
+     * true if the late moves are searched at a reduced depth.
+     */
+    private boolean lateMoveReductions;
+
+    /**
+     * true if the futile moves near the horizon are pruned.
+     */
+    private boolean futilityPruning;
+
+    /**
+     * number of moves of the last search searched at a reduced depth,
+     * and number of moves pruned because they were futile.
+     */
+    private final LongAdder reducedMoves;
+    private final LongAdder prunedMoves;
+
+    /**
+     * maximum number of plies of the quiescence search after the horizon,
+     * 0 if the horizon positions are evaluated statically.
+     */
+    private int quiescencePlies;
+
+    /**
+     * number of positions searched by the quiescence search in the last
+     * search, after the horizon, under every move of the root.
+     */
+    private final LongAdder[] quiescenceNodes;
+
+    /**
+     * search of a forced win by continuous threats, made before the main search.
+     */
+    private final ThreatSpaceSearch threatSpace;
+
+    /**
+     * true if the threat-space search is made before the main search.
+     */
+    private boolean threatSpaceSearch;
+
+    /**
+     * number of positions searched by the threat-space search in the last search.
+     */
+    private long threatSpaceNodes;
+
+    /**
+     * half width of the aspiration window of the first search of an
+     * iteration, 0 if the iterations use the full window.
+     */
+    private int aspirationWidth;
+
+    /**
+     * number of cutoffs of the last search, and how many of them were
+     * given by the first move searched.
+     */
+    private final LongAdder cutoffs;
+    private final LongAdder firstMoveCutoffs;
+
+    /**
+     * true when the main search is done, so the helpers must stop.
+     */
+    private volatile boolean stopped;
+
+    /**
+     * time available for a move, in milliseconds. The search is aborted
+     * when it is over.
+     */
+    private long timeLimit;
+
+    /**
+     * beginning of the current search, see {@link System#nanoTime()}.
+     */
+    private long searchBegin;
+
+    /**
+     * time available for the current search, in nanoseconds.
+     */
+    private long budget;
+
+    /**
+     * maximum depth of the iterative deepening.
+     */
+    private int maxDepth;
+
+    /**
+     * number of positions searched by all the threads in the last search.
+     */
+    private long nodes;
+
+    /**
+     * duration of the last search, in nanoseconds.
+     */
+    private long searchTime;
+
+    /**
+     * depth of the last completed iteration of the last search.
+     */
+    private int completedDepth;
+
+    /**
+     * score of the last completed iteration of the last search.
+     */
+    private int completedScore;
+
+    /**
+     * value greater than any score of a position.
+     */
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    /**
+     * maximum depth of the iterative deepening search.
+     */
+    private static final int MAX_DEPTH = 64;
+
+    /**
+     * default time available for a move, in milliseconds.
+     */
+    private static final long TIME_LIMIT = 400;
+
+    /**
+     * depth of the first iteration: the depth 0 only evaluates the root,
+     * so it does not give a move.
+     */
+    private static final int MIN_DEPTH = 2;
+
+    /**
+     * the time is checked every POLL_NODES positions (a power of two).
+     */
+    private static final int POLL_NODES = 1024;
+
+    /**
+     * minimum depth of a position whose moves are split between the
+     * threads, so a task is worth the copy of the position.
+     */
+    private static final int SPLIT_DEPTH = 3;
+
+    /**
+     * the late move reductions apply to the moves in position LMR_MOVES or
+     * later (after the hash move and the killer moves) of the positions
+     * with depth at least LMR_DEPTH.
+     */
+    private static final int LMR_MOVES = 3;
+    private static final int LMR_DEPTH = 3;
+
+    /**
+     * margins of the futility pruning, with FUTILITY_MARGINS[depth]: a move
+     * rarely improves the evaluation of the player by more than 30 points
+     * (once in a hundred moves, without the winning moves), and the margin
+     * of depth 2 also covers the reply. The positions with a greater depth
+     * are never pruned.
+     */
+    private static final int[] FUTILITY_MARGINS = { 0, 30, 60 };
+
+    /**
+     * default and maximum number of plies of the quiescence search.
+     */
+    private static final int QUIESCENCE_PLIES = 6;
+    private static final int MAX_QUIESCENCE_PLIES = 16;
+
+    /**
+     * default half width of the aspiration windows.
+     */
+    private static final int ASPIRATION_WIDTH = 10;
+
+    /**
+     * Constructs a bot player. The weights of the experts are read from
+     * the file {@link ExpertWeights#DEFAULT_FILE}, if it exists.
      *
      * @param color color of the player (0 is black, 1 is white)
+     * @throws UncheckedIOException if the file of the weights can not be read
+     * @throws IllegalArgumentException if the file of the weights is malformed
      */
     public BotPlayer(int color) {
-        this.color = color;
-        randomExpert = new Random();
-        experts = new ArrayList<>();
-        experts.add(new WinExpert());
-        experts.add(new LossExpert());
-        experts.add(new RandomExpert());
-        experts.add(new BridgeExpert());
-        table = new AndantinoTranspositionTable();
+        this(color, AndantinoEvaluationCache.DEFAULT_BITS);
     }
 
     /**
-     * evaluates a gameboard. To do so, it iterates over its
-     * experts and returns the sum of the evaluation of the
-     * experts method {@link Model.Expert.Expert#getWeight(List)}.
+     * Constructs a bot player with an evaluation cache of 2^cacheBits entries.
+     * The weights of the experts are read from the file
+     * {@link ExpertWeights#DEFAULT_FILE}, if it exists, and a file which
+     * can not be read is an error rather than a fall back to the default weights.
      *
-     * @return sum of the evaluation of all the experts or
-     * 0 if gameboard is empty
+     * @param color color of the player (0 is black, 1 is white)
+     * @param cacheBits number of bits of the key used to address the evaluation cache
+     * @throws UncheckedIOException if the file of the weights can not be read
+     * @throws IllegalArgumentException if the file of the weights is malformed
      */
-    private int evaluate(List<Tile> gameBoard) {
-        if (gameBoard.size() == 0)
-            return 0;
-        int res = 0;
-        for (Expert expert : experts)
-            res += expert.getWeight(gameBoard);
-        return res;
+    public BotPlayer(int color, int cacheBits) {
+        this(color, cacheBits, loadWeights());
     }
 
     /**
-     * iterative deepening search.
-     * It iterates two at a time to avoid the Odd/Even effect.
+     * reads the weights of the experts from the default file.
      *
-     * @param position root for the search tree
-     * @return most promising node which represents the next move
+     * @return weights in the default file, empty weights if it does not exist
      */
-    private Node iterativeDeepeningSearch(Node position) {
-        Node result = null;
-        int alpha = Integer.MAX_VALUE, beta = Integer.MAX_VALUE;
-        long time = 0;
-        for (int depth = 0; time < 400; depth += 2) {
-            long begin = System.currentTimeMillis();
-            result = alphaBetaSearch(position, depth, -alpha, beta);
-            long end = System.currentTimeMillis();
-            time += (end - begin);
+    private static ExpertWeights loadWeights() {
+        try {
+            return ExpertWeights.loadDefault();
+        } catch (IOException e) {
+            throw new UncheckedIOException("unable to read " + ExpertWeights.DEFAULT_FILE, e);
         }
-        return result;
     }
 
     /**
-     * stores in the transposition table the best value for this
-     * position.
+     * Constructs a bot player with the specified weights of the experts.
      *
-     * @param best     best value found
-     * @param oldAlpha previous alpha
-     * @param beta     upper bound
-     * @param depth    depth at which the node was found
-     * @return best node for the position
+     * @param color color of the player (0 is black, 1 is white)
+     * @param cacheBits number of bits of the key used to address the evaluation cache
+     * @param weights weights of the experts, the missing ones keep their default weight
      */
-    private Node onDoneSearch(Node best, int oldAlpha, int beta, int depth) {
-        Boolean nodeType;
-        if (best.getScore() < oldAlpha)
-            nodeType = null;
-        else if (best.getScore() >= beta)
-            nodeType = false;
-        else
-            nodeType = true;
-        table.store(best, depth, nodeType);
-        return best;
+    public BotPlayer(int color, int cacheBits, ExpertWeights weights) {
+        this.color = color;
+        WinExpert win = new WinExpert();
+        LossExpert loss = new LossExpert();
+        RandomExpert random = new RandomExpert();
+        randomExpert = random;
+        BridgeExpert bridge = new BridgeExpert();
+        LineWindowExpert line = new LineWindowExpert();
+        weights.apply(ExpertWeights.WIN, win);
+        weights.apply(ExpertWeights.LOSS, loss);
+        weights.apply(ExpertWeights.RANDOM, random);
+        weights.apply(ExpertWeights.BRIDGE, bridge);
+        weights.apply(ExpertWeights.LINE, line);
+        evaluator = new AndantinoEvaluator(win, loss, random, bridge, line);
+        incrementalExperts = new ArrayList<>();
+        incrementalExperts.add(bridge);
+        evaluationCache = new AndantinoEvaluationCache(cacheBits);
+        supervisor = new AndantinoSupervisor();
+        tableBits = AndantinoTranspositionTable.DEFAULT_BITS;
+        table = new AndantinoTranspositionTable(tableBits);
+        timeLimit = TIME_LIMIT;
+        maxDepth = MAX_DEPTH;
+        workers = new SearchWorker[] { new SearchWorker(0, evaluator, new AndantinoMoveOrdering(MAX_DEPTH)) };
+        threads = 1;
+        splitNodes = new LongAdder();
+        splitWorkers = new ConcurrentLinkedQueue<>();
+        moveOrdering = true;
+        aspirationWidth = ASPIRATION_WIDTH;
+        lateMoveReductions = true;
+        futilityPruning = false;
+        reducedMoves = new LongAdder();
+        prunedMoves = new LongAdder();
+        quiescencePlies = QUIESCENCE_PLIES;
+        quiescenceNodes = new LongAdder[HexGeometry.SIZE];
+        for (int move = 0; move < HexGeometry.SIZE; move++)
+            quiescenceNodes[move] = new LongAdder();
+        threatSpace = new AndantinoThreatSpaceSearch();
+        threatSpaceSearch = true;
+        cutoffs = new LongAdder();
+        firstMoveCutoffs = new LongAdder();
     }
 
     /**
-     * alpha-beta search algorithm in a NegaMax framework.
-     * The first thing to do is check if a best move already exists in the
-     * transposition table for this node. If it does, then update the node
-     * and return it, else keep searching.
-     * Also, this method does not return an int. Therefore, when
-     * you need to negate the values, you have to remember to
-     * negate the score of the position passed as a parameter in the
-     * recursion call.
-     * When a cut-off happens, it invokes the method {@link #onDoneSearch(Node, int, int, int)}.
-     *
-     * @param node  current node to investigate
-     * @param depth depth to be searched
-     * @param alpha lower bound of the window
-     * @param beta  upper bound of the window
-     * @return next move to make
+     * position whose moves are split between the threads by the Young
+     * Brothers Wait search. The first move (the eldest brother) is searched
+     * before the split, then the other moves are searched in parallel, and
+     * they share the best score found so far, which is their lower bound.
+     * When a move is a cutoff (its score is at least beta), the other moves
+     * are aborted, and so are the split points below them.
      */
-    private Node alphaBetaSearch(Node node, int depth, int alpha, int beta) {
-        int oldAlpha = alpha; // saves the old alpha value
-        EntryInfo entry = table.retrieve(node,
-                depth, node.getPosition().getPlayer());
-        if (entry != null && entry.getDepth() >= depth) {
-            if (entry.isExactValue())
-                return new AndantinoNode(node, entry.getBestMove());
-            if (entry.isLowerBound())
-                alpha = Integer.max(alpha, entry.getScore());
-            else // score in entry is an upper bound
-                beta = Integer.max(beta, entry.getScore());
-            if (alpha >= beta)
-                return new AndantinoNode(node, entry.getBestMove());
+    private static final class SplitPoint {
+        /**
+         * split point of the position above this one, null if there is none.
+         */
+        private final SplitPoint parent;
+
+        /**
+         * window of the position.
+         */
+        private final int alpha;
+        private final int beta;
+
+        /**
+         * best score and best move found so far.
+         */
+        private int best;
+        private int bestMove;
+
+        /**
+         * true if a move has a score not smaller than beta.
+         */
+        private volatile boolean cutoff;
+
+        /**
+         * constructs a split point after the search of the first move.
+         *
+         * @param parent split point above this one, null if there is none
+         * @param alpha lower bound of the window
+         * @param beta upper bound of the window
+         * @param best score of the first move
+         * @param bestMove first move
+         */
+        SplitPoint(SplitPoint parent, int alpha, int beta, int best, int bestMove) {
+            this.parent = parent;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.best = best;
+            this.bestMove = bestMove;
         }
 
-        if (depth == 0) { // reached a leaf (horizon)
-            node.setScore(evaluate(node.getCurrentGameboard()));
-            return node;
+        /**
+         * gets the lower bound of the moves which are not searched yet.
+         *
+         * @return best score found so far, or alpha if it is greater
+         */
+        synchronized int getLowerBound() {
+            return Integer.max(best, alpha);
         }
-        // PVS/NegaScout
-        Node result = null;
-        if (node.generateSuccessors()) { // false => full gameboard
-            List<Node> children = node.getChildren();
 
-            ListIterator<Node> child = children.listIterator(); // there is at least one child
-            result = alphaBetaSearch(child.next(), depth - 1, -beta, -alpha);
-            result.setScore(-result.getScore());
-            if (result.getScore() < beta) {
-                while (child.hasNext()) {
-                    int lowerBound = Integer.max(result.getScore(), alpha); // fail-soft condition
-                    int upperBound = lowerBound + 1;
-                    // move iterator one position to the right
-                    result = alphaBetaSearch(child.next(), depth - 1,
-                            -upperBound, -lowerBound);
-                    result.setScore(-result.getScore());
-                    Node value = null;
-                    boolean found = false; // flag to check if value is initialized
-                    // if result is no good => research
-                    if (upperBound < result.getScore() && result.getScore() < beta
-                            && depth > 2) {
-                        // move iterator one position to the left
-                        value = alphaBetaSearch(child.previous(), depth - 1, -beta,
-                                -result.getScore());
-                        value.setScore(-value.getScore());
-                        found = true;
-                    }
-                    if (found && value.getScore() > result.getScore())
-                        result = value;
-                    if (result.getScore() >= beta)
-                        return onDoneSearch(result, oldAlpha, beta, depth);
+        /**
+         * updates the best score with the score of a move.
+         *
+         * @param score score of the move
+         * @param move index of the move
+         */
+        synchronized void update(int score, int move) {
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (best >= beta)
+                    cutoff = true;
+            }
+        }
+
+        synchronized int getBest() {
+            return best;
+        }
+
+        synchronized int getBestMove() {
+            return bestMove;
+        }
+
+        /**
+         * determines if the moves of this split point must stop.
+         *
+         * @return true if there was a cutoff in this split point or
+         * in one of the split points above it, false otherwise
+         */
+        boolean isAborted() {
+            for (SplitPoint point = this; point != null; point = point.parent) {
+                if (point.cutoff)
+                    return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * search of a move of a split point. It takes an idle split worker and
+     * moves its position to the split point, following the moves from the
+     * root, so it can run on any thread. It searches the move with a null
+     * window on the best score of the split point, with the same reductions
+     * and pruning of the moves after the first one of the serial search.
+     */
+    private final class SplitTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * split point of the move.
+         */
+        private final SplitPoint point;
+
+        /**
+         * moves from the root to the position of the split point.
+         */
+        private final int[] path;
+
+        /**
+         * move to search, its position in the ordered moves, depth of
+         * the split point and estimate of the score of the move for the
+         * futility pruning.
+         */
+        private final int move;
+        private final int index;
+        private final int depth;
+        private final int futilityScore;
+
+        /**
+         * true if the move is neither reduced nor pruned.
+         */
+        private final boolean forcing;
+
+        SplitTask(SplitPoint point, int[] path, int move, int index, int depth, int futilityScore,
+                  boolean forcing) {
+            this.point = point;
+            this.path = path;
+            this.move = move;
+            this.index = index;
+            this.depth = depth;
+            this.futilityScore = futilityScore;
+            this.forcing = forcing;
+        }
+
+        @Override
+        protected void compute() {
+            checkTime(); // a task is too short to reach POLL_NODES positions
+            if (point.isAborted())
+                return;
+            SearchWorker worker = splitWorkers.poll();
+            if (worker == null) {
+                worker = new SearchWorker(0, evaluator.copy(), new AndantinoMoveOrdering(MAX_DEPTH));
+                worker.reset(rootBoard);
+            }
+            try {
+                worker.split = point;
+                worker.moveTo(path);
+                int score = worker.searchMove(worker.root, move, index, depth, point.getLowerBound(),
+                        point.beta, futilityScore, forcing);
+                if (!worker.isAborted())
+                    point.update(score, move);
+            } finally {
+                splitNodes.add(worker.nodes);
+                worker.nodes = 0;
+                worker.split = null;
+                splitWorkers.add(worker);
+            }
+        }
+    }
+
+    /**
+     * search of a thread. It makes and unmakes the moves on its own
+     * {@link SearchPosition}, with its own evaluator and stack of moves,
+     * while the transposition table and the evaluation cache are shared
+     * by all the threads.
+     * The helpers (id greater than 0) of the Lazy SMP search run the same
+     * iterative deepening as the main search, with two variations, so
+     * they do not search the same tree at the same time:
+     * <ul>
+     *     <li>the helpers with an odd id start one iteration ahead;</li>
+     *     <li>the second move of every position is swapped with another
+     *     one, chosen by the id of the helper.</li>
+     * </ul>
+     * They fill the transposition table, which the main search reads.
+     * A helper stops as soon as the main search is done.
+     */
+    private final class SearchWorker implements Runnable {
+        /**
+         * split point of the task of this search, null if it is not a task
+         * of the Young Brothers Wait search.
+         */
+        private SplitPoint split;
+
+        /**
+         * id of the thread, 0 for the main search.
+         */
+        private final int id;
+
+        /**
+         * evaluator of the search positions of this thread.
+         */
+        private final Evaluator evaluator;
+
+        /**
+         * accumulator of the features of the incremental experts, it is
+         * reset with the gameboard of every search.
+         */
+        private final EvaluationAccumulator accumulator;
+
+        /**
+         * legal moves of every ply of the current path, with movesStack[ply][i].
+         * The rows are allocated when a ply is reached, since the tasks of
+         * the Young Brothers Wait search only use the plies below their move.
+         */
+        private final int[][] movesStack;
+
+        /**
+         * killer moves and history of this thread.
+         */
+        private final MoveOrdering ordering;
+
+        /**
+         * generator of the forcing moves of the quiescence search and of
+         * the moves which are never reduced or pruned.
+         */
+        private final ThreatGenerator threats;
+
+        /**
+         * forcing moves of every ply of the current path, as a bitset of
+         * the indexes of the moves, with forcingStack[ply][index / 64].
+         */
+        private final long[][] forcingStack;
+
+        /**
+         * forcing moves found by the last call of the threat generator.
+         */
+        private final int[] forcingMoves;
+
+        /**
+         * root of the current search. The position of a split worker is
+         * moved to the split point of its task, see {@link #moveTo(int[])}.
+         */
+        private SearchPosition root;
+
+        /**
+         * number of tiles of the root of the current search.
+         */
+        private int rootSize;
+
+        /**
+         * best move found at the root by the last iteration.
+         */
+        private int rootBestMove;
+
+        /**
+         * best move, depth and score of the last completed iteration.
+         */
+        private int completedMove;
+        private int completedDepth;
+        private int completedScore;
+
+        /**
+         * number of positions searched in the current search.
+         */
+        private long nodes;
+
+        /**
+         * number of times the root was searched again, because the score was
+         * outside the aspiration window, of every iteration of the current search.
+         */
+        private final int[] reSearches;
+
+        /**
+         * constructs the search of a thread.
+         *
+         * @param id id of the thread, 0 for the main search
+         * @param evaluator evaluator used only by this thread
+         * @param ordering move ordering of this thread
+         */
+        SearchWorker(int id, Evaluator evaluator, MoveOrdering ordering) {
+            this.id = id;
+            this.evaluator = evaluator;
+            this.ordering = ordering;
+            accumulator = new AndantinoEvaluationAccumulator(incrementalExperts);
+            movesStack = new int[MAX_DEPTH + MAX_QUIESCENCE_PLIES + 1][];
+            threats = new AndantinoThreatGenerator();
+            reSearches = new int[MAX_DEPTH + 1];
+            forcingStack = new long[MAX_DEPTH + 1][(HexGeometry.SIZE + 63) / 64];
+            forcingMoves = new int[HexGeometry.SIZE];
+        }
+
+        /**
+         * prepares a search of a gameboard.
+         *
+         * @param gameBoard gameboard of the root
+         */
+        void reset(List<Tile> gameBoard) {
+            root = new AndantinoSearchPosition(gameBoard, accumulator);
+            rootSize = root.size();
+            completedMove = -1;
+            completedDepth = -1;
+            nodes = 0;
+            Arrays.fill(reSearches, 0);
+            ordering.clear();
+        }
+
+        /**
+         * runs the iterative deepening of a helper, until the main search is done.
+         */
+        @Override
+        public void run() {
+            iterativeDeepeningSearch(root, id % 2 == 1 ? MIN_DEPTH + 2 : MIN_DEPTH);
+        }
+
+        /**
+         * evaluates a search position, see {@link Evaluator#evaluate(SearchPosition, int, int)}.
+         * The features of all the experts are computed together by the
+         * evaluator, which applies the weights of the experts.
+         * The score is saved in the evaluation cache, so a position reached
+         * again (in the next iteration or by a transposition) is not evaluated
+         * twice. The random feature is a hash of the key of the position,
+         * so a cached score is the same score the evaluator would compute.
+         * The evaluation is lazy: it stops when the remaining experts can not
+         * bring the score back in the window, and then the score is only a
+         * bound, which is not cached.
+         * The score is from the point of view of the player who made the last move.
+         *
+         * @param position position to evaluate
+         * @param lower lower bound of the window, for the player who made the last move
+         * @param upper upper bound of the window, for the player who made the last move
+         * @return sum of the evaluation of all the experts, or a bound outside the window
+         */
+        private int evaluate(SearchPosition position, int lower, int upper) {
+            int score = evaluationCache.retrieve(position.getKey());
+            if (score == EvaluationCache.MISSING) {
+                score = evaluator.evaluate(position, lower, upper);
+                if (evaluator.isExact())
+                    evaluationCache.store(position.getKey(), score);
+            }
+            return score;
+        }
+
+        /**
+         * iterative deepening search.
+         * It iterates two at a time to avoid the Odd/Even effect.
+         * The main search stops at the maximum depth, or when more than half
+         * of the time is over, since the next iteration would not end in time.
+         * A helper stops when the main search is done. An iteration is aborted
+         * when the time is over, so only the completed iterations give a move.
+         *
+         * @param position root for the search tree
+         * @param firstDepth depth of the first iteration
+         */
+        private void iterativeDeepeningSearch(SearchPosition position, int firstDepth) {
+            rootSize = position.size();
+            for (int depth = firstDepth; depth <= maxDepth && !stopped; depth += 2) {
+                // the next iteration takes longer than all the previous ones
+                if (id == 0 && depth > firstDepth && 2 * (System.nanoTime() - searchBegin) > budget)
+                    break;
+                rootBestMove = -1;
+                int score = aspirationSearch(position, depth);
+                if (stopped)
+                    break; // aborted iteration
+                if (rootBestMove != -1) {
+                    completedMove = rootBestMove;
+                    completedDepth = depth;
+                    completedScore = score;
                 }
             }
         }
-        if (result == null)
-            return node;
-        return result;
+
+        /**
+         * searches the root with an aspiration window centred on the score
+         * of the previous iteration. When the score is outside the window
+         * (fail low or fail high), the bound is moved beyond the score and
+         * the root is searched again, with the width doubled every time.
+         * The first iteration, and every iteration if the aspiration windows
+         * are disabled, uses the full window.
+         *
+         * @param position root for the search tree
+         * @param depth depth of the iteration
+         * @return score of the root
+         */
+        private int aspirationSearch(SearchPosition position, int depth) {
+            reSearches[depth] = 0;
+            if (aspirationWidth <= 0 || completedDepth == -1)
+                return alphaBetaSearch(position, depth, -INFINITY, INFINITY);
+            int width = aspirationWidth;
+            int alpha = shift(completedScore, -width);
+            int beta = shift(completedScore, width);
+            while (true) {
+                int score = alphaBetaSearch(position, depth, alpha, beta);
+                if (stopped)
+                    return score;
+                if (score <= alpha && alpha > -INFINITY) // fail low
+                    alpha = shift(score, -width);
+                else if (score >= beta && beta < INFINITY) // fail high
+                    beta = shift(score, width);
+                else
+                    return score;
+                width = (int) Math.min(2L * width, INFINITY);
+                reSearches[depth]++;
+            }
+        }
+
+        /**
+         * determines if this search must stop.
+         *
+         * @return true if the main search is done, if the time is over or if a move of a split
+         * point above this search is a cutoff, false otherwise
+         */
+        private boolean isAborted() {
+            return stopped || (split != null && split.isAborted());
+        }
+
+        /**
+         * searches the moves after the first one in parallel, with the
+         * Young Brothers Wait search. Every move is a task of splitPool,
+         * which gets only the moves from the root to position.
+         *
+         * @param position position of the split point
+         * @param moves legal moves of position, the first one is searched
+         * @param size number of legal moves
+         * @param depth depth of position
+         * @param point split point with the score of the first move
+         * @param futilityScore estimate of the best score of the moves,
+         *                      INFINITY if they can not be pruned
+         * @param selective true if the forcing moves of position are marked
+         * @param mustBlock true if the player who has the turn must block a threat
+         */
+        private void split(SearchPosition position, int[] moves, int size, int depth,
+                           SplitPoint point, int futilityScore, boolean selective, boolean mustBlock) {
+            int ply = position.size() - rootSize;
+            List<Tile> tiles = position.getTiles();
+            int[] path = new int[position.size() - rootSize];
+            for (int i = 0; i < path.length; i++)
+                path[i] = tiles.get(rootSize + i).getIndex();
+            List<SplitTask> tasks = new ArrayList<>(size - 1);
+            for (int i = 1; i < size; i++)
+                tasks.add(new SplitTask(point, path, moves[i], i, depth, futilityScore,
+                        !selective || mustBlock || isForcing(ply, moves[i])));
+            ForkJoinTask.invokeAll(tasks);
+        }
+
+        /**
+         * moves the position of a split worker to the position of a split
+         * point: the moves after the common part of the two paths are
+         * unmade, then the other moves of path are made.
+         *
+         * @param path moves from the root to the position of the split point
+         */
+        private void moveTo(int[] path) {
+            List<Tile> tiles = root.getTiles();
+            int common = 0;
+            while (common < path.length && rootSize + common < root.size()
+                    && tiles.get(rootSize + common).getIndex() == path[common])
+                common++;
+            while (root.size() > rootSize + common)
+                root.unmakeMove();
+            for (int i = common; i < path.length; i++)
+                root.makeMove(path[i]);
+        }
+
+        /**
+         * gets the array for the moves of a ply, allocated when the ply is first reached.
+         *
+         * @param ply distance from the root
+         * @return moves of the ply
+         */
+        private int[] getMoves(int ply) {
+            int[] moves = movesStack[ply];
+            if (moves == null)
+                moves = movesStack[ply] = new int[HexGeometry.SIZE];
+            return moves;
+        }
+
+        /**
+         * quiescence search of a position after the horizon. The static
+         * evaluation of a position in the middle of a threat is wrong
+         * (horizon effect), so only the forcing moves are searched, until
+         * the position is quiet or quiescencePlies plies are searched:
+         * <ul>
+         *     <li>if the player has a winning move, it is the only move;</li>
+         *     <li>else if the other player threatens to win (a four or an
+         *     enclosure), the player must search the blocking moves;</li>
+         *     <li>else the player can stand pat with the static evaluation,
+         *     or search the moves which make a threat.</li>
+         * </ul>
+         * The positions are not stored in the transposition table.
+         *
+         * @param position position after the horizon, the last move did not win
+         * @param qply number of plies after the horizon
+         * @param alpha lower bound
+         * @param beta upper bound
+         * @return score of the position, for the player who has the turn
+         */
+        private int quiescenceSearch(SearchPosition position, int qply, int alpha, int beta) {
+            if (qply > 0) { // the horizon is counted by alphaBetaSearch
+                if ((++nodes & (POLL_NODES - 1)) == 0)
+                    checkTime();
+                if (isAborted())
+                    return 0;
+                quiescenceNodes[position.getTiles().get(rootSize).getIndex()].increment();
+            }
+            int[] moves = getMoves(position.size() - rootSize);
+            int size = threats.getWinningMoves(position, moves);
+            if (size > 0)
+                size = 1; // a single winning move is enough
+            else
+                size = threats.getBlockingMoves(position, moves);
+            int best = -INFINITY;
+            if (size == 0) { // quiet position
+                best = -evaluate(position, -beta, -alpha);
+                if (best >= beta || qply == quiescencePlies)
+                    return best;
+                size = threats.getThreatMoves(position, moves);
+            } else if (qply == quiescencePlies)
+                return -evaluate(position, -beta, -alpha);
+            for (int i = 0; i < size && best < beta && !isAborted(); i++) {
+                int lowerBound = Integer.max(best, alpha);
+                position.makeMove(moves[i]);
+                int score;
+                if (supervisor.hasWon(position)) // the score of the player who made the move
+                    score = evaluate(position, lowerBound, beta);
+                else
+                    score = -quiescenceSearch(position, qply + 1, -beta, -lowerBound);
+                position.unmakeMove();
+                best = Integer.max(best, score);
+            }
+            return best;
+        }
+
+        /**
+         * marks the forcing moves of a position, which are never reduced
+         * or pruned: the moves which win, and the moves which make a
+         * threat (a four or an enclosure threat). If the other player
+         * threatens to win, no move is marked: every move of the position
+         * must be searched at full depth, since all but the blocks lose.
+         *
+         * @param position position whose moves are searched
+         * @param ply distance of position from the root
+         * @return true if the player who has the turn must block a threat,
+         * false otherwise
+         */
+        private boolean markForcingMoves(SearchPosition position, int ply) {
+            long[] forcing = forcingStack[ply];
+            Arrays.fill(forcing, 0);
+            if (threats.getBlockingMoves(position, forcingMoves) > 0)
+                return true;
+            int size = threats.getWinningMoves(position, forcingMoves);
+            for (int i = 0; i < size; i++)
+                forcing[forcingMoves[i] >>> 6] |= 1L << forcingMoves[i];
+            size = threats.getThreatMoves(position, forcingMoves);
+            for (int i = 0; i < size; i++)
+                forcing[forcingMoves[i] >>> 6] |= 1L << forcingMoves[i];
+            return false;
+        }
+
+        /**
+         * determines if a move was marked by {@link #markForcingMoves(SearchPosition, int)}.
+         *
+         * @param ply distance from the root of the position of the move
+         * @param move index of the move
+         * @return true if the move is forcing, false otherwise
+         */
+        private boolean isForcing(int ply, int move) {
+            return (forcingStack[ply][move >>> 6] & (1L << move)) != 0;
+        }
+
+        /**
+         * searches a move after the first one (a younger brother) with a null
+         * window, and searches it again with the window [score, beta] if its
+         * score is inside the window (PVS/NegaScout).
+         * Unless the move is forcing (it wins, blocks or makes a threat), or the
+         * player must block a threat, the search is selective:
+         * <ul>
+         *     <li>late move reductions: a move in position LMR_MOVES or later
+         *     of a position with depth at least LMR_DEPTH is searched one ply
+         *     shallower, and again at the full depth if it fails high;</li>
+         *     <li>futility pruning: if futilityScore is not greater than
+         *     lowerBound, the move is not searched at all and futilityScore
+         *     is its score.</li>
+         * </ul>
+         *
+         * @param position position before the move
+         * @param move move to search
+         * @param index position of the move in the ordered moves
+         * @param depth depth of position
+         * @param lowerBound best score found so far, or alpha if greater
+         * @param beta upper bound
+         * @param futilityScore estimate of the best score of the move,
+         *                      INFINITY if the move can not be pruned
+         * @param forcing true if the move is forcing or the player must block,
+         *                so it is neither reduced nor pruned
+         * @return score of the move, for the player who makes it
+         */
+        private int searchMove(SearchPosition position, int move, int index, int depth,
+                               int lowerBound, int beta, int futilityScore, boolean forcing) {
+            position.makeMove(move);
+            boolean futile = !forcing && futilityScore <= lowerBound;
+            boolean late = !forcing && lateMoveReductions && depth >= LMR_DEPTH && index >= LMR_MOVES;
+            if ((futile || late) && supervisor.hasWon(position)) {
+                futile = false; // a winning move is searched at full depth
+                late = false;
+            }
+            if (futile) {
+                position.unmakeMove();
+                prunedMoves.increment();
+                return futilityScore;
+            }
+            int upperBound = lowerBound + 1;
+            int score;
+            if (late) {
+                reducedMoves.increment();
+                score = -alphaBetaSearch(position, depth - 2, -upperBound, -lowerBound);
+                if (score > lowerBound) // fail high, it was not a bad move
+                    score = -alphaBetaSearch(position, depth - 1, -upperBound, -lowerBound);
+            } else
+                score = -alphaBetaSearch(position, depth - 1, -upperBound, -lowerBound);
+            // if result is no good => research
+            if (lowerBound < score && score < beta && !isAborted())
+                score = -alphaBetaSearch(position, depth - 1, -beta, -score);
+            position.unmakeMove();
+            return score;
+        }
+
+        /**
+         * estimates the best score of the moves of a position near the horizon:
+         * the evaluation of the position plus the margin of its depth.
+         * The evaluation is lazy, since it is only needed to know if the
+         * estimate is greater than lowerBound.
+         *
+         * @param position position with depth 1 or 2
+         * @param depth depth of position
+         * @param lowerBound best score found so far, or alpha if greater
+         * @return estimate of the best score, if it is not greater than lowerBound,
+         * INFINITY otherwise (the moves are not futile)
+         */
+        private int getFutilityScore(SearchPosition position, int depth, int lowerBound) {
+            int margin = FUTILITY_MARGINS[depth];
+            // the evaluation is from the point of view of the other player
+            int threshold = shift(-lowerBound, margin);
+            int score = evaluate(position, threshold - 1, threshold);
+            return score >= threshold ? shift(-score, margin) : INFINITY;
+        }
+
+        /**
+         * stores in the transposition table the best value for this
+         * position.
+         *
+         * @param position position searched
+         * @param best     best value found
+         * @param bestMove index of the best move found, -1 if there are no moves
+         * @param oldAlpha previous alpha
+         * @param beta     upper bound
+         * @param depth    depth at which the position was searched
+         * @return best value for the position
+         */
+        private int onDoneSearch(SearchPosition position, int best, int bestMove,
+                                 int oldAlpha, int beta, int depth) {
+            Boolean nodeType;
+            if (best <= oldAlpha)
+                nodeType = null;
+            else if (best >= beta)
+                nodeType = false;
+            else
+                nodeType = true;
+            if (bestMove != -1)
+                table.store(position.getKey(), position.getLastPlayer(), depth, best, HexTile.valueOf(bestMove,
+                        position.getPlayerTurn()), nodeType);
+            return best;
+        }
+
+        /**
+         * alpha-beta search algorithm in a NegaMax framework.
+         * The first thing to do is check if a best move already exists in the
+         * transposition table for this position. If it does, then use its score
+         * to narrow the window, else keep searching.
+         * The moves are ordered by {@link MoveOrdering}, the best move of the
+         * transposition table first, and every cutoff updates the killer moves
+         * and the history.
+         * The moves are made and unmade on position, so the search keeps
+         * only the moves of the current path. The score is from the point of
+         * view of the player who has the turn in position.
+         * When the search of a position is done, it invokes the method
+         * {@link #onDoneSearch(SearchPosition, int, int, int, int, int)}.
+         * If the search is stopped, it returns without storing anything.
+         * In the Young Brothers Wait search, the moves after the first one
+         * of a position with depth at least SPLIT_DEPTH are searched in parallel.
+         *
+         * @param position current position to investigate
+         * @param depth depth to be searched
+         * @param alpha lower bound of the window
+         * @param beta  upper bound of the window
+         * @return score of the position
+         */
+        private int alphaBetaSearch(SearchPosition position, int depth, int alpha, int beta) {
+            if ((++nodes & (POLL_NODES - 1)) == 0)
+                checkTime();
+            if (isAborted())
+                return 0;
+            int oldAlpha = alpha; // saves the old alpha value
+            int ply = position.size() - rootSize;
+            EntryInfo entry = table.retrieve(position.getKey(), position.getLastPlayer());
+            if (entry != null && entry.getDepth() >= depth && ply > 0) {
+                if (entry.isExactValue())
+                    return entry.getScore();
+                if (entry.isLowerBound())
+                    alpha = Integer.max(alpha, entry.getScore());
+                else // score in entry is an upper bound
+                    beta = Integer.min(beta, entry.getScore());
+                if (alpha >= beta)
+                    return entry.getScore();
+            }
+
+            // the last move has won the game
+            if (ply > 0 && supervisor.hasWon(position))
+                return -evaluate(position, -beta, -alpha);
+            // reached a leaf (horizon)
+            if (depth == 0) {
+                if (quiescencePlies > 0)
+                    return quiescenceSearch(position, 0, alpha, beta);
+                return -evaluate(position, -beta, -alpha);
+            }
+            int[] moves = getMoves(ply);
+            int size = position.getLegalMoves(moves);
+            if (size == 0) // full gameboard
+                return -evaluate(position, -beta, -alpha);
+            if (moveOrdering)
+                ordering.order(moves, size, ply, position.getPlayerTurn(),
+                        entry == null ? -1 : entry.getBestMove().getIndex());
+            if (id > 0 && size > 2) { // ordering of the helper
+                int other = 1 + (id + ply) % (size - 1);
+                int move = moves[1];
+                moves[1] = moves[other];
+                moves[other] = move;
+            }
+            // PVS/NegaScout
+            position.makeMove(moves[0]);
+            int best = -alphaBetaSearch(position, depth - 1, -beta, -alpha);
+            position.unmakeMove();
+            int bestMove = moves[0];
+            int futilityScore = INFINITY;
+            if (futilityPruning && ply > 0 && depth < FUTILITY_MARGINS.length && best < beta)
+                futilityScore = getFutilityScore(position, depth, Integer.max(best, alpha));
+            // the forcing moves are searched at full depth
+            boolean selective = futilityScore < INFINITY || (lateMoveReductions && depth >= LMR_DEPTH);
+            boolean mustBlock = selective && best < beta && markForcingMoves(position, ply);
+            boolean parallel = splitPool != null && depth >= SPLIT_DEPTH && size > 2;
+            if (parallel && best < beta && !isAborted()) {
+                SplitPoint point = new SplitPoint(split, alpha, beta, best, bestMove);
+                split(position, moves, size, depth, point, futilityScore, selective, mustBlock);
+                best = point.getBest();
+                bestMove = point.getBestMove();
+            }
+            for (int i = 1; i < size && best < beta && !parallel && !isAborted(); i++) {
+                int lowerBound = Integer.max(best, alpha); // fail-soft condition
+                boolean forcing = !selective || mustBlock || isForcing(ply, moves[i]);
+                int score = searchMove(position, moves[i], i, depth, lowerBound, beta, futilityScore, forcing);
+                if (score > best) {
+                    best = score;
+                    bestMove = moves[i];
+                }
+            }
+            if (isAborted())
+                return best;
+            if (best >= beta) {
+                cutoffs.increment();
+                if (bestMove == moves[0])
+                    firstMoveCutoffs.increment();
+                ordering.update(bestMove, ply, position.getPlayerTurn(), depth);
+            }
+            if (ply == 0)
+                rootBestMove = bestMove;
+            return onDoneSearch(position, best, bestMove, oldAlpha, beta, depth);
+        }
     }
+
 /*
     /**
      * Test method.
@@ -268,26 +1251,6 @@ public final class BotPlayer implements Player {
     }
     */
 
-    /**
-     * gets the child of the root of the search tree.
-     * The child is on the principal variation of the
-     * search tree.
-     *
-     * @param node interior node of the search tree
-     * @return tile associated with the node at ply n+1,
-     * where n is the ply of the root. The node is on the
-     * principal variation
-     */
-    private Tile nextMove(Node node) {
-        Node next = node;
-        while (!next.isRoot()) {
-            if (next.getParent().isRoot())
-                return next.getPosition();
-            next = next.getParent();
-        }
-        return null; // impossible a node must have a root
-    }
-
     /**
      * gets the player's color.
      *
@@ -309,11 +1272,405 @@ public final class BotPlayer implements Player {
         return true;
     }
 
+    /**
+     * enables or disables the debug mode of the evaluation, which checks
+     * the accumulated features against the features of the whole gameboard.
+     *
+     * @param debug true to enable the debug mode
+     */
+    public void setDebugEvaluation(boolean debug) {
+        evaluator.setDebug(debug);
+        for (SearchWorker worker : workers)
+            worker.evaluator.setDebug(debug);
+        for (SearchWorker worker : splitWorkers)
+            worker.evaluator.setDebug(debug);
+    }
+
+    /**
+     * sets the number of threads of the search. With more than one thread,
+     * the search is a Lazy SMP: the helpers run the same iterative deepening
+     * of the main search on their own threads, and they share the
+     * transposition table and the evaluation cache. See also
+     * {@link #setYoungBrothersWait(boolean)}.
+     *
+     * @param threads number of threads, 1 for the single-threaded search
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    public void setThreads(int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        this.threads = threads;
+        createThreads();
+    }
+
+    /**
+     * enables or disables the Young Brothers Wait search. When it is enabled,
+     * the threads do not search the whole tree each: the first move of a
+     * position is searched, then the other moves are split between the
+     * threads of a fork/join pool, which share the bounds of the window.
+     * So the threads search the tree of the single-threaded search, and the
+     * score is the same up to the effects of the transposition table and of
+     * the bounds, which depend on the order in which the tasks end.
+     * It has no effect if the search is single-threaded.
+     *
+     * @param enabled true for the Young Brothers Wait search, false for Lazy SMP
+     * @see <a href="https://www.chessprogramming.org/Young_Brothers_Wait_Concept">Young Brothers Wait</a>
+     */
+    public void setYoungBrothersWait(boolean enabled) {
+        youngBrothersWait = enabled;
+        createThreads();
+    }
+
+    /**
+     * creates the threads of the search: the helpers of the Lazy SMP
+     * or the pool of the Young Brothers Wait search.
+     */
+    private void createThreads() {
+        if (helpers != null)
+            helpers.shutdown();
+        if (splitPool != null)
+            splitPool.shutdown();
+        helpers = null;
+        splitPool = null;
+        splitWorkers.clear();
+        if (threads > 1 && youngBrothersWait) {
+            workers = new SearchWorker[] { workers[0] };
+            splitPool = new ForkJoinPool(threads);
+            return;
+        }
+        SearchWorker[] newWorkers = new SearchWorker[threads];
+        newWorkers[0] = workers[0];
+        for (int id = 1; id < threads; id++)
+            newWorkers[id] = new SearchWorker(id, evaluator.copy(), new AndantinoMoveOrdering(MAX_DEPTH));
+        workers = newWorkers;
+        if (threads > 1) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads - 1, threads - 1,
+                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "bot-" + color + "-helper");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true); // idle bots do not keep their threads
+            helpers = pool;
+        }
+    }
+
+    /**
+     * gets the number of threads of the search.
+     *
+     * @return number of threads, 1 if the search is single-threaded
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * enables or disables the threat-space search before the main search.
+     * It looks only at the sequences of threats (fours and enclosures) of
+     * the player, to which the other player must reply, so it proves a
+     * forced win much deeper than the main search. When a win is proven,
+     * its first move is returned at once.
+     *
+     * @param enabled true to search the threat space before the main search
+     * @see AndantinoThreatSpaceSearch
+     */
+    public void setThreatSpaceSearch(boolean enabled) {
+        threatSpaceSearch = enabled;
+    }
+
+    /**
+     * gets the number of positions searched by the threat-space search in the last search.
+     *
+     * @return number of positions, 0 if the threat-space search is disabled
+     */
+    public long getThreatSpaceNodes() {
+        return threatSpaceNodes;
+    }
+
+    /**
+     * sets the maximum number of plies of the quiescence search. After the
+     * horizon of the search, the moves which win, block a threat or make
+     * a threat (a four or an enclosure) are searched, until the position
+     * is quiet or the maximum number of plies is reached.
+     *
+     * @param plies maximum number of plies, in [0, 16], 0 to evaluate the
+     * horizon statically
+     * @throws IllegalArgumentException if plies is out of range
+     */
+    public void setQuiescencePlies(int plies) {
+        if (plies < 0 || plies > MAX_QUIESCENCE_PLIES)
+            throw new IllegalArgumentException("plies out of range: " + plies);
+        quiescencePlies = plies;
+    }
+
+    /**
+     * gets the number of positions searched by the quiescence search in
+     * the last search, after the horizon.
+     *
+     * @return number of quiescence nodes, in all the threads
+     */
+    public long getQuiescenceNodes() {
+        long sum = 0;
+        for (LongAdder nodes : quiescenceNodes)
+            sum += nodes.sum();
+        return sum;
+    }
+
+    /**
+     * gets the number of positions searched by the quiescence search in
+     * the last search, after the horizon, under a move of the root.
+     *
+     * @param move move of the root
+     * @return number of quiescence nodes under the move, in all the threads
+     */
+    public long getQuiescenceNodes(Tile move) {
+        return quiescenceNodes[move.getIndex()].sum();
+    }
+
+    /**
+     * enables or disables the late move reductions: the moves searched late,
+     * after the hash move and the killer moves, are searched one ply
+     * shallower, and again at the full depth only if they fail high.
+     *
+     * @param enabled true to reduce the late moves, false to search all
+     * the moves at the full depth
+     */
+    public void setLateMoveReductions(boolean enabled) {
+        lateMoveReductions = enabled;
+    }
+
+    /**
+     * enables or disables the futility pruning: in a position one or two
+     * plies from the horizon, the moves after the first one are not searched
+     * if the evaluation of the position plus a margin is not greater than
+     * the best score found so far. The winning moves are never pruned.
+     * It is disabled by default: with the current experts it prunes few
+     * moves, and the lazy evaluations cost more than the positions saved.
+     *
+     * @param enabled true to prune the futile moves, false to search all the moves
+     */
+    public void setFutilityPruning(boolean enabled) {
+        futilityPruning = enabled;
+    }
+
+    /**
+     * gets the number of moves of the last search searched at a reduced depth.
+     *
+     * @return number of reduced moves, in all the threads
+     */
+    public long getReducedMoves() {
+        return reducedMoves.sum();
+    }
+
+    /**
+     * gets the number of moves of the last search pruned because they were futile.
+     *
+     * @return number of pruned moves, in all the threads
+     */
+    public long getPrunedMoves() {
+        return prunedMoves.sum();
+    }
+
+    /**
+     * sets the half width of the aspiration windows. Every iteration after
+     * the first one searches the root with the window
+     * [score - width, score + width], where score is the score of the
+     * previous iteration. If the score is outside the window, the root is
+     * searched again with a wider window (see {@link #getReSearches(int)}).
+     *
+     * @param width half width of the first window, 0 to always use the full window
+     * @throws IllegalArgumentException if width is negative
+     */
+    public void setAspirationWidth(int width) {
+        if (width < 0)
+            throw new IllegalArgumentException("negative width: " + width);
+        aspirationWidth = width;
+    }
+
+    /**
+     * gets the number of re-searches of an iteration of the last search,
+     * made by the main search because the score was outside the aspiration window.
+     *
+     * @param depth depth of the iteration
+     * @return number of re-searches, 0 if the iteration was not searched
+     */
+    public int getReSearches(int depth) {
+        return workers[0].reSearches[depth];
+    }
+
+    /**
+     * enables or disables the ordering of the moves. When it is enabled,
+     * the moves of a position are searched in this order: the best move
+     * stored in the transposition table, the killer moves of the ply,
+     * then the other moves by their history score
+     * (see {@link AndantinoMoveOrdering}).
+     *
+     * @param enabled true to order the moves, false to search them in
+     * the order of the frontier
+     */
+    public void setMoveOrdering(boolean enabled) {
+        moveOrdering = enabled;
+    }
+
+    /**
+     * gets the number of cutoffs of the last search, in all the threads.
+     *
+     * @return number of positions whose score was not smaller than beta
+     */
+    public long getCutoffs() {
+        return cutoffs.sum();
+    }
+
+    /**
+     * gets the number of cutoffs of the last search given by the first
+     * move searched. The ratio with {@link #getCutoffs()} measures the
+     * quality of the move ordering.
+     *
+     * @return number of cutoffs given by the first move
+     */
+    public long getFirstMoveCutoffs() {
+        return firstMoveCutoffs.sum();
+    }
+
+    /**
+     * moves a bound of the window, without overflow.
+     *
+     * @param score score of the bound
+     * @param width distance of the new bound, negative for a lower bound
+     * @return score + width, clamped to [-INFINITY, INFINITY]
+     */
+    private static int shift(int score, int width) {
+        return (int) Math.max(-INFINITY, Math.min(INFINITY, (long) score + width));
+    }
+
+    /**
+     * stops the search, and all its threads, if the time is over.
+     */
+    private void checkTime() {
+        if (System.nanoTime() - searchBegin >= budget)
+            stopped = true;
+    }
+
+    /**
+     * sets the time available for a move. The search checks the time every
+     * few positions and it is aborted when the time is over, so a move never
+     * takes much longer than timeLimit.
+     *
+     * @param timeLimit time limit in milliseconds
+     */
+    public void setTimeLimit(long timeLimit) {
+        this.timeLimit = timeLimit;
+    }
+
+    /**
+     * sets the maximum depth of the iterative deepening.
+     *
+     * @param maxDepth maximum depth, in [0, 64]
+     * @throws IllegalArgumentException if maxDepth is out of range
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 0 || maxDepth > MAX_DEPTH)
+            throw new IllegalArgumentException("depth out of range: " + maxDepth);
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * gets the number of positions searched by all the threads in the last search.
+     *
+     * @return number of nodes of the last search
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * gets the duration of the last search.
+     *
+     * @return duration in nanoseconds
+     */
+    public long getSearchTime() {
+        return searchTime;
+    }
+
+    /**
+     * gets the score of the move returned by the last search.
+     *
+     * @return score of the last completed iteration, for this player,
+     * Integer.MAX_VALUE if the move was proven to win by the threat-space search
+     */
+    public int getScore() {
+        return completedScore;
+    }
+
+    /**
+     * gets the depth of the move returned by the last search.
+     *
+     * @return depth of the last completed iteration, -1 if none was completed
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * sets the seed of the random feature, so the searches of two
+     * players with the same seed are replayed in the same way.
+     * The evaluation cache and the transposition table are cleared,
+     * because their scores depend on the old seed.
+     *
+     * @param seed seed of the game
+     */
+    public void setSeed(long seed) {
+        randomExpert.setSeed(seed);
+        evaluationCache.clear();
+        table = new AndantinoTranspositionTable(tableBits);
+    }
+
+    /**
+     * sets the size of the transposition table, which is cleared.
+     *
+     * @param bits number of bits of the key used to address the table,
+     *             the table has 2^bits entries for each player
+     * @throws IllegalArgumentException if bits is not in [1, 28]
+     */
+    public void setTableBits(int bits) {
+        table = new AndantinoTranspositionTable(bits);
+        tableBits = bits;
+    }
+
+    /**
+     * gets the size of the transposition table.
+     *
+     * @return number of entries of the transposition table for each player
+     */
+    public int getTableSize() {
+        return table.size();
+    }
+
+    /**
+     * gets the evaluator of this player, to read how often its stages are skipped.
+     *
+     * @return evaluator of the search positions
+     */
+    public Evaluator getEvaluator() {
+        return evaluator;
+    }
+
+    /**
+     * gets the evaluation cache of this player, to read its hit rate.
+     *
+     * @return cache of the evaluations
+     */
+    public EvaluationCache getEvaluationCache() {
+        return evaluationCache;
+    }
+
     /**
      * makes a move.
      * This is the core part of this AI.
      * It uses an alpha-beta search in a NegaMax framework
-     * to find the next move.
+     * to find the next move. The search is aborted when the time limit
+     * is over, and the move is the best move of the last completed
+     * iteration (or the first legal move, if no iteration was completed).
      *
      * @param gameBoard current gameboard configuration
      * @return last placed tile
@@ -322,9 +1679,71 @@ public final class BotPlayer implements Player {
     public Tile move(List<Tile> gameBoard) {
         if (gameBoard.size() == 1)
             return AndantinoGameBoard.generateFirstMove();
-        Node res = iterativeDeepeningSearch(
-                new AndantinoNode(gameBoard, null));
-        return nextMove(res);
+        searchBegin = System.nanoTime();
+        budget = TimeUnit.MILLISECONDS.toNanos(timeLimit);
+        table.newSearch();
+        for (SearchWorker worker : workers)
+            worker.reset(gameBoard);
+        rootBoard = gameBoard;
+        for (SearchWorker worker : splitWorkers)
+            worker.reset(gameBoard);
+        SearchWorker main = workers[0];
+        splitNodes.reset();
+        cutoffs.reset();
+        firstMoveCutoffs.reset();
+        reducedMoves.reset();
+        prunedMoves.reset();
+        for (LongAdder moveNodes : quiescenceNodes)
+            moveNodes.reset();
+        threatSpaceNodes = 0;
+        if (threatSpaceSearch) {
+            int win = threatSpace.solve(main.root);
+            threatSpaceNodes = threatSpace.getNodes();
+            if (win != -1) { // proven win, no need to search
+                nodes = threatSpaceNodes;
+                completedDepth = -1;
+                completedScore = INFINITY;
+                searchTime = System.nanoTime() - searchBegin;
+                return HexTile.valueOf(win, main.root.getPlayerTurn());
+            }
+        }
+        stopped = false;
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int id = 1; id < workers.length; id++)
+            tasks.add(helpers.submit(workers[id]));
+        if (splitPool != null)
+            splitPool.invoke(ForkJoinTask.adapt(() -> main.iterativeDeepeningSearch(main.root, MIN_DEPTH)));
+        else
+            main.iterativeDeepeningSearch(main.root, MIN_DEPTH);
+        stopped = true;
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("helper search failed", e.getCause());
+            }
+        }
+        // the deepest completed iteration, the main search in case of a tie
+        SearchWorker best = main;
+        nodes = splitNodes.sum();
+        for (SearchWorker worker : workers) {
+            nodes += worker.nodes;
+            if (worker.completedDepth > best.completedDepth)
+                best = worker;
+        }
+        completedDepth = best.completedDepth;
+        completedScore = best.completedScore;
+        nodes += threatSpaceNodes;
+        int move = best.completedMove;
+        if (move == -1) { // not even the first iteration was completed
+            int[] moves = new int[HexGeometry.SIZE];
+            main.root.getLegalMoves(moves);
+            move = moves[0];
+        }
+        searchTime = System.nanoTime() - searchBegin;
+        return HexTile.valueOf(move, main.root.getPlayerTurn());
     }
 }
 
@@ -0,0 +1,98 @@
+package Model.Expert;
+
+import Model.BitBoard;
+import Model.HexGeometry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * accumulator of the features of the Andantino incremental experts.
+ * It follows the bitboard of a search position: the position invokes
+ * {@link #beforeChange(int)} before updating the bitboard and
+ * {@link #afterChange(int)} after it, both for a move and an undo.
+ */
+public final class AndantinoEvaluationAccumulator implements EvaluationAccumulator {
+    /**
+     * experts whose features are accumulated.
+     */
+    private final List<IncrementalExpert> experts;
+
+    /**
+     * features of every expert, with features[expert][color].
+     */
+    private final int[][] features;
+
+    /**
+     * bitboard followed by this accumulator.
+     */
+    private BitBoard board;
+
+    /**
+     * constructs an accumulator for the specified experts.
+     * @param experts incremental experts, the order gives the index of their features
+     */
+    public AndantinoEvaluationAccumulator(List<IncrementalExpert> experts) {
+        this.experts = new ArrayList<>(experts);
+        features = new int[experts.size()][2];
+    }
+
+    /**
+     * follows a new bitboard, the features are computed from scratch.
+     * @param board bitboard of the gameboard
+     */
+    @Override
+    public void reset(BitBoard board) {
+        this.board = board;
+        for (int expert = 0; expert < experts.size(); expert++) {
+            features[expert][0] = features[expert][1] = 0;
+            for (int index = 0; index < HexGeometry.SIZE; index++)
+                experts.get(expert).addFeature(board, index, 1, features[expert]);
+        }
+    }
+
+    /**
+     * subtracts the features around a position, which is going to change.
+     * @param index index of the position
+     */
+    @Override
+    public void beforeChange(int index) {
+        for (int expert = 0; expert < experts.size(); expert++)
+            experts.get(expert).addLocalFeatures(board, index, -1, features[expert]);
+    }
+
+    /**
+     * adds the features around a position, which has changed.
+     * @param index index of the position
+     */
+    @Override
+    public void afterChange(int index) {
+        for (int expert = 0; expert < experts.size(); expert++)
+            experts.get(expert).addLocalFeatures(board, index, 1, features[expert]);
+    }
+
+    /**
+     * finds the index of the features of an expert.
+     * @param expert expert to find
+     * @return index of the expert, -1 if its features are not accumulated
+     */
+    @Override
+    public int indexOf(Expert expert) {
+        for (int i = 0; i < experts.size(); i++) {
+            if (experts.get(i) == expert)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * gets the feature of an expert for a player.
+     * @param expert index of the expert
+     * @param color color of the player
+     * @return sum of the features of the tiles of color
+     */
+    @Override
+    public int getFeature(int expert, int color) {
+        return features[expert][color];
+    }
+}
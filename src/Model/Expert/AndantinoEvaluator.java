@@ -0,0 +1,256 @@
+package Model.Expert;
+
+import Model.SearchGameTree.SearchPosition;
+import Model.Supervisor.AndantinoSupervisor;
+import Model.Supervisor.GameSupervisor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * evaluator of the Andantino game. It computes the features of the
+ * win, loss, random, bridge and line window experts together:
+ * <ul>
+ *     <li>the win check is made once, and it gives the win or the loss weight;</li>
+ *     <li>the bridges are read from the accumulator of the position, which
+ *     updates them on every move; if the position has no accumulator, they
+ *     are counted in a single pass over the tiles;</li>
+ *     <li>the open line windows are read from the position, which keeps
+ *     them updated on every move.</li>
+ * </ul>
+ * Then the weights of the experts are applied, so the score is the same
+ * of the sum of the experts {@link Expert#getWeight(SearchPosition)}.
+ * The weights are read on every evaluation, so changing the weight of an
+ * expert changes the score of the evaluator.
+ * In debug mode, the accumulated features are checked against the
+ * features computed from scratch on every evaluation.
+ * <p>
+ * The features are evaluated in two stages. The random feature, the line
+ * windows and the bridges are read from counters of the position, so they
+ * are as cheap as any bound of them and they are evaluated first. The win
+ * check scans the rows and the groups of the last move, and it adds either
+ * the win or the loss weight, so the lazy evaluation skips it when neither
+ * of them brings the score back in the window of the search, and the
+ * skipped checks are counted.
+ */
+public final class AndantinoEvaluator implements Evaluator {
+    /**
+     * experts whose weights are applied to the features.
+     */
+    private final Expert win;
+    private final Expert loss;
+    private final Expert random;
+    private final BridgeExpert bridge;
+    private final Expert line;
+
+    /**
+     * stages of the evaluation, in the order they are evaluated.
+     */
+    public static final int FEATURES_STAGE = 0;
+    public static final int WIN_STAGE = 1;
+    private static final String[] STAGE_NAMES = { "features", "win" };
+
+    /**
+     * number of evaluations.
+     */
+    private final LongAdder evaluations;
+
+    /**
+     * number of evaluations which skipped a stage, with skipped[stage].
+     */
+    private final LongAdder[] skipped;
+
+    /**
+     * true if the last lazy evaluation evaluated all the stages.
+     */
+    private boolean exact;
+
+    /**
+     * true if the accumulated features must be checked.
+     */
+    private boolean debug;
+
+    /**
+     * supervisor to determine the win.
+     */
+    private final GameSupervisor supervisor;
+
+    /**
+     * constructs an evaluator with the weights of the specified experts.
+     * @param win expert of the victory
+     * @param loss expert of the loss
+     * @param random expert of the random feature
+     * @param bridge expert of the bridge feature
+     * @param line expert of the line windows
+     */
+    public AndantinoEvaluator(WinExpert win, LossExpert loss, RandomExpert random,
+                              BridgeExpert bridge, LineWindowExpert line) {
+        this.win = win;
+        this.loss = loss;
+        this.random = random;
+        this.bridge = bridge;
+        this.line = line;
+        supervisor = new AndantinoSupervisor();
+        evaluations = new LongAdder();
+        skipped = new LongAdder[STAGE_NAMES.length];
+        for (int stage = 0; stage < skipped.length; stage++)
+            skipped[stage] = new LongAdder();
+    }
+
+    /**
+     * constructs an evaluator which shares the experts, the counters
+     * and the debug mode of other, to be used by another thread.
+     * @param other evaluator to copy
+     */
+    private AndantinoEvaluator(AndantinoEvaluator other) {
+        win = other.win;
+        loss = other.loss;
+        random = other.random;
+        bridge = other.bridge;
+        line = other.line;
+        supervisor = new AndantinoSupervisor();
+        evaluations = other.evaluations;
+        skipped = other.skipped;
+        debug = other.debug;
+    }
+
+    /**
+     * creates an evaluator for another search thread.
+     * @return evaluator with the same experts and counters
+     */
+    @Override
+    public Evaluator copy() {
+        return new AndantinoEvaluator(this);
+    }
+
+    /**
+     * counts the bridges of the player who made the last move.
+     * @param position position to evaluate
+     * @return number of tiles of the last player with at least three connected enemies
+     * @throws IllegalStateException in debug mode, if the accumulated bridges are
+     * different from the bridges in the gameboard
+     */
+    private int countBridges(SearchPosition position) {
+        EvaluationAccumulator accumulator = position.getAccumulator();
+        int expert = accumulator == null ? -1 : accumulator.indexOf(bridge);
+        if (expert == -1)
+            return bridge.countBridges(position.getTiles(), position.getBitBoard());
+        int res = accumulator.getFeature(expert, position.getLastPlayer());
+        if (debug) {
+            int expected = bridge.countBridges(position.getTiles(), position.getBitBoard());
+            if (res != expected)
+                throw new IllegalStateException("accumulated bridges: " + res +
+                        ", bridges in the gameboard: " + expected);
+        }
+        return res;
+    }
+
+    /**
+     * enables or disables the check of the accumulated features.
+     * @param debug true to check the accumulated features on every evaluation
+     */
+    @Override
+    public void setDebug(boolean debug) {
+        this.debug = debug;
+    }
+
+    /**
+     * evaluates a position from the point of view of the player
+     * who made the last move.
+     * @param position position to evaluate
+     * @return sum of the weights of the features of position
+     */
+    @Override
+    public int evaluate(SearchPosition position) {
+        return evaluate(position, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * evaluates a position lazily, from the point of view of the player
+     * who made the last move. After the features, the score plus the
+     * greater and the smaller of the win and the loss weights is compared
+     * with the window, and the win check is skipped if it is outside.
+     * @param position position to evaluate
+     * @param lower lower bound of the window
+     * @param upper upper bound of the window
+     * @return sum of the weights of the features of position, or a bound
+     * outside the window
+     */
+    @Override
+    public int evaluate(SearchPosition position, int lower, int upper) {
+        evaluations.increment();
+        exact = false;
+        int res = random.getWeight(position) + line.getWeight(position) +
+                bridge.getWeight() * countBridges(position);
+        int won = win.getWeight();
+        int lost = loss.getWeight();
+        if (res + Math.max(won, lost) <= lower) {
+            skipped[WIN_STAGE].increment();
+            return res + Math.max(won, lost);
+        }
+        if (res + Math.min(won, lost) >= upper) {
+            skipped[WIN_STAGE].increment();
+            return res + Math.min(won, lost);
+        }
+        res += supervisor.hasWon(position) ? won : lost;
+        exact = true;
+        return res;
+    }
+
+    /**
+     * determines if the last lazy evaluation is exact.
+     * The evaluator is used by one search thread, see {@link #copy()}.
+     * @return true if all the stages were evaluated, false otherwise
+     */
+    @Override
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * gets the number of stages of the evaluation.
+     * @return number of stages
+     */
+    @Override
+    public int countStages() {
+        return STAGE_NAMES.length;
+    }
+
+    /**
+     * gets the name of a stage.
+     * @param stage index of the stage, from the first evaluated
+     * @return name of the stage
+     */
+    @Override
+    public String getStageName(int stage) {
+        return STAGE_NAMES[stage];
+    }
+
+    /**
+     * gets the number of evaluations which skipped a stage.
+     * @param stage index of the stage
+     * @return number of evaluations stopped before stage
+     */
+    @Override
+    public long getSkipped(int stage) {
+        return skipped[stage].sum();
+    }
+
+    /**
+     * gets the number of evaluations.
+     * @return number of evaluations since the last reset
+     */
+    @Override
+    public long getEvaluations() {
+        return evaluations.sum();
+    }
+
+    /**
+     * resets the counters of the evaluations and of the skipped stages.
+     */
+    @Override
+    public void resetCounters() {
+        evaluations.reset();
+        for (LongAdder counter : skipped)
+            counter.reset();
+    }
+}
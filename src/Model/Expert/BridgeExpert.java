@@ -1,7 +1,10 @@
 package Model.Expert;
 
-import Model.Supervisor.AndantinoSupervisor;
-import Model.Supervisor.GameSupervisor;
+import Model.AndantinoBitBoard;
+import Model.BitBoard;
+import Model.HexGeometry;
+import Model.NeighbourPatterns;
+import Model.SearchGameTree.SearchPosition;
 import Model.Tile;
 
 import java.util.List;
@@ -10,48 +13,82 @@ import java.util.List;
  * Bridge expert, it evaluates a bridge feature as follows:
  * player 1 has a position, then at least three of his
  * neighbours are enemies.
+ * The feature of a tile only depends on its neighbours, so it can be
+ * accumulated incrementally, see {@link IncrementalExpert}.
+ * The enemies around a tile are read from the bitboard as a mask of
+ * six bits, and the bridge is a lookup in a table of the 64 masks.
  */
-public final class BridgeExpert implements Expert {
+public final class BridgeExpert implements IncrementalExpert {
 
     /**
-     * supervisor of the game.
+     * number of connected enemies of a bridge.
      */
-    private GameSupervisor supervisor;
+    private static final int BRIDGE_ENEMIES = 3;
+
+    /**
+     * bridges of the masks of the enemies, with bridges[mask] true if
+     * mask has at least three connected enemies.
+     */
+    private static final boolean[] bridges = new boolean[NeighbourPatterns.MASKS];
+
+    static {
+        for (int mask = 0; mask < NeighbourPatterns.MASKS; mask++)
+            bridges[mask] = NeighbourPatterns.getConnected(mask) >= BRIDGE_ENEMIES;
+    }
+
     /**
      * weight of this feature.
      */
     private int weight;
 
     public BridgeExpert() {
-        supervisor = new AndantinoSupervisor();
         weight = 4;
     }
 
     /**
-     * checks if tile has at least three neighbours which belong
-     * to the other player (enemy).
-     * @param tile tile to check
-     * @param gameBoard represents the gameboard of this game
-     * @return true if it has at least three connected enemies,
-     * false if it has at max 2 or if it has already been checked
+     * checks if a position has at least three connected neighbours
+     * of the enemy.
+     * The enemies are read from the bitboard as a mask of six bits, one for
+     * each direction, and the mask is looked up in the table of the bridges.
+     * @param index index of the position
+     * @param enemy color of the enemy
+     * @param board bitboard of the gameboard
+     * @return true if there are at least three connected enemies, false otherwise
      */
-    private boolean hasAtLeastThreeEnemies(Tile tile, List<Tile> gameBoard) {
-        boolean northEast, east, southEast,
-                southWest, west, northWest;
-        northEast = supervisor.isNorthEastNeighbourEnemy(tile, gameBoard);
-        east = supervisor.isEastNeighbourEnemy(tile, gameBoard);
-        southEast = supervisor.isSouthEastNeighbourEnemy(tile, gameBoard);
-        southWest = supervisor.isSouthWestNeighbourEnemy(tile, gameBoard);
-        west = supervisor.isWestNeighbourEnemy(tile, gameBoard);
-        northWest = supervisor.isNorthWestNeighbourEnemy(tile, gameBoard);
-        if(     east && northEast && southEast ||
-                west && southWest && northWest ||
-                southWest && west && southEast ||
-                northEast && northWest && east ||
-                west && northWest && northEast ||
-                southWest && southEast && east)
-            return true;
-        return false;
+    static boolean isBridge(int index, int enemy, BitBoard board) {
+        return bridges[board.getNeighbourMask(index, enemy)];
+    }
+
+    /**
+     * adds the bridge of the tile in index, if there is one.
+     * @param board bitboard of the gameboard
+     * @param index index of the position
+     * @param sign 1 to add the bridge, -1 to subtract it
+     * @param features number of bridges of the players, with features[color]
+     */
+    @Override
+    public void addFeature(BitBoard board, int index, int sign, int[] features) {
+        int color = board.getColor(index);
+        if (color != -1 && isBridge(index, color ^ 1, board))
+            features[color] += sign;
+    }
+
+    /**
+     * adds the bridges of the tile in index and of its neighbours, which
+     * are the only tiles whose enemies change when index changes.
+     * @param board bitboard of the gameboard
+     * @param index index of the position which changes
+     * @param sign 1 to add the bridges, -1 to subtract them
+     * @param features number of bridges of the players, with features[color]
+     */
+    @Override
+    public void addLocalFeatures(BitBoard board, int index, int sign, int[] features) {
+        addFeature(board, index, sign, features);
+        for (int direction = 0; direction < HexGeometry.DIRECTIONS; direction++) {
+            int neighbour = HexGeometry.getNeighbour(index, direction);
+            if (neighbour != -1)
+                addFeature(board, neighbour, sign, features);
+        }
     }
 
     /**
@@ -88,10 +125,35 @@ public final class BridgeExpert implements Expert {
      */
     @Override
     public int getWeight(List<Tile> gameBoard) {
+        return weight * countBridges(gameBoard, new AndantinoBitBoard(gameBoard));
+    }
+
+    /**
+     * determines the weight of the bridges in a search position.
+     * If the position accumulates the bridges, it reads their number,
+     * else it counts them with the bitboard of position.
+     * @param position position to evaluate
+     * @return weight of this feature
+     */
+    @Override
+    public int getWeight(SearchPosition position) {
+        EvaluationAccumulator accumulator = position.getAccumulator();
+        int expert = accumulator == null ? -1 : accumulator.indexOf(this);
+        if (expert != -1)
+            return weight * accumulator.getFeature(expert, position.getLastPlayer());
+        return weight * countBridges(position.getTiles(), position.getBitBoard());
+    }
+
+    /**
+     * counts the bridges of the player who made the last move.
+     * @param gameBoard tiles of the gameboard
+     * @param board bitboard of gameBoard
+     * @return number of tiles with at least three connected enemies
+     */
+    int countBridges(List<Tile> gameBoard, BitBoard board) {
         int lastTileColor = gameBoard.get(gameBoard.size() - 1).getPlayer();
-        int bridgesCounter = (int) gameBoard.stream()
+        return (int) gameBoard.stream()
                 .filter(tile -> tile.getPlayer() == lastTileColor &&
-                        hasAtLeastThreeEnemies(tile, gameBoard)).count();
-        return weight * bridgesCounter;
+                        isBridge(tile.getIndex(), lastTileColor ^ 1, board)).count();
     }
 }
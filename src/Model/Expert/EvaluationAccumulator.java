@@ -0,0 +1,17 @@
+package Model.Expert;
+
+import Model.BitBoard;
+
+/**
+ * accumulator of the features of the incremental experts of a position.
+ * Every time a tile is placed or removed, the features around it are
+ * subtracted before the change and added after the change, so the
+ * features of the whole gameboard are always available in constant time.
+ */
+public interface EvaluationAccumulator {
+    void reset(BitBoard board);
+    void beforeChange(int index);
+    void afterChange(int index);
+    int indexOf(Expert expert);
+    int getFeature(int expert, int color);
+}
@@ -0,0 +1,84 @@
+package Model.Expert;
+
+import Model.SearchGameTree.SearchPosition;
+
+/**
+ * interface of an evaluator, it determines the score of a position
+ * combining the features of several experts.
+ */
+public interface Evaluator {
+    /**
+     * evaluates a position from the point of view of the player
+     * who made the last move.
+     * @param position position to evaluate
+     * @return score of position
+     */
+    int evaluate(SearchPosition position);
+
+    /**
+     * evaluates a position lazily, from the point of view of the player
+     * who made the last move. The features are evaluated in stages, and
+     * the evaluation stops as soon as the remaining stages can not bring
+     * the score back in the window (lower, upper). In that case the score
+     * is a bound (fail-soft): if it is at most lower, the exact score is
+     * not greater; if it is at least upper, the exact score is not smaller.
+     * @param position position to evaluate
+     * @param lower lower bound of the window
+     * @param upper upper bound of the window
+     * @return score of position, or a bound outside the window
+     */
+    int evaluate(SearchPosition position, int lower, int upper);
+
+    /**
+     * creates an evaluator for another search thread. It shares the
+     * experts and the counters of this evaluator, but the result of
+     * its lazy evaluations is its own.
+     * @return evaluator with the same experts
+     */
+    Evaluator copy();
+
+    /**
+     * determines if the last score returned by
+     * {@link #evaluate(SearchPosition, int, int)} is exact.
+     * @return true if all the stages were evaluated, false otherwise
+     */
+    boolean isExact();
+
+    /**
+     * gets the number of stages of the evaluation.
+     * @return number of stages
+     */
+    int countStages();
+
+    /**
+     * gets the name of a stage.
+     * @param stage index of the stage, from the first evaluated
+     * @return name of the stage
+     */
+    String getStageName(int stage);
+
+    /**
+     * gets the number of evaluations which skipped a stage.
+     * @param stage index of the stage
+     * @return number of evaluations stopped before stage
+     */
+    long getSkipped(int stage);
+
+    /**
+     * gets the number of evaluations.
+     * @return number of evaluations since the last reset
+     */
+    long getEvaluations();
+
+    /**
+     * resets the counters of the evaluations and of the skipped stages.
+     */
+    void resetCounters();
+
+    /**
+     * enables or disables the debug mode, which checks the incremental
+     * features against the features computed from scratch.
+     * @param debug true to enable the debug mode
+     */
+    void setDebug(boolean debug);
+}
@@ -1,5 +1,6 @@
 package Model.Expert;
 
+import Model.SearchGameTree.SearchPosition;
 import Model.Tile;
 
 import java.util.List;
@@ -30,4 +31,12 @@ public interface Expert {
      * @return weight of this feature
      */
     int getWeight(List<Tile> gameBoard);
+
+    /**
+     * evaluates the weight of this feature for a search position.
+     * It only looks at the last move, when the feature allows it.
+     * @param position position to evaluate
+     * @return weight of this feature
+     */
+    int getWeight(SearchPosition position);
 }
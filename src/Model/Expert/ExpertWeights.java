@@ -0,0 +1,141 @@
+package Model.Expert;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * weights of the experts, saved in a properties file with a line
+ * name=weight for every expert, for example:
+ * <pre>
+ * win=20
+ * loss=-20
+ * random=5
+ * bridge=4
+ * line=1
+ * </pre>
+ * The file is written by {@link TexelTuner} and read by the bot players
+ * when they are constructed. The experts missing from the file keep
+ * their default weight.
+ */
+public final class ExpertWeights {
+    /**
+     * file read by default, in the working directory.
+     */
+    public static final String DEFAULT_FILE = "weights.properties";
+
+    /**
+     * names of the experts in the file.
+     */
+    public static final String WIN = "win";
+    public static final String LOSS = "loss";
+    public static final String RANDOM = "random";
+    public static final String BRIDGE = "bridge";
+    public static final String LINE = "line";
+
+    /**
+     * weights, with the name of the expert as key.
+     */
+    private final Properties properties;
+
+    /**
+     * constructs an empty set of weights, every expert keeps its default weight.
+     */
+    public ExpertWeights() {
+        properties = new Properties();
+    }
+
+    /**
+     * reads the weights from a file.
+     * @param file properties file with the weights
+     * @return weights in file
+     * @throws IOException if the file can not be read
+     * @throws IllegalArgumentException if the file is malformed or a weight
+     * is not an integer
+     */
+    public static ExpertWeights load(Path file) throws IOException {
+        ExpertWeights weights = new ExpertWeights();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            weights.properties.load(reader);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(file + ": " + e.getMessage(), e);
+        }
+        for (String name : weights.properties.stringPropertyNames()) {
+            try {
+                weights.get(name, 0);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(file + ": invalid weight of " + name, e);
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * reads the weights from the default file, if it exists.
+     * @return weights in the default file, empty weights if it does not exist
+     * @throws IOException if the file exists but it can not be read
+     * @throws IllegalArgumentException if the file is malformed or a weight
+     * is not an integer
+     */
+    public static ExpertWeights loadDefault() throws IOException {
+        Path file = Paths.get(DEFAULT_FILE);
+        if (!Files.exists(file))
+            return new ExpertWeights();
+        return load(file);
+    }
+
+    /**
+     * writes the weights in a file.
+     * @param file destination file
+     * @throws IOException if the file can not be written
+     */
+    public void save(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            properties.store(writer, "Andantino expert weights");
+        }
+    }
+
+    /**
+     * sets the weight of an expert.
+     * @param name name of the expert
+     * @param weight weight of the expert
+     */
+    public void set(String name, int weight) {
+        properties.setProperty(name, Integer.toString(weight));
+    }
+
+    /**
+     * checks if there is the weight of an expert.
+     * @param name name of the expert
+     * @return true if the weight is set, false otherwise
+     */
+    public boolean contains(String name) {
+        return properties.containsKey(name);
+    }
+
+    /**
+     * gets the weight of an expert.
+     * @param name name of the expert
+     * @param defaultWeight weight returned if it is not set
+     * @return weight of the expert
+     * @throws NumberFormatException if the weight is not an integer
+     */
+    public int get(String name, int defaultWeight) {
+        String weight = properties.getProperty(name);
+        return weight == null ? defaultWeight : Integer.parseInt(weight.trim());
+    }
+
+    /**
+     * sets the weight of expert, if it is present.
+     * @param name name of the expert
+     * @param expert expert to update
+     * @throws NumberFormatException if the weight is not an integer
+     */
+    public void apply(String name, Expert expert) {
+        expert.setWeight(get(name, expert.getWeight()));
+    }
+}
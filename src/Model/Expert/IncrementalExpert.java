@@ -0,0 +1,32 @@
+package Model.Expert;
+
+import Model.BitBoard;
+
+/**
+ * interface of an expert whose feature is the sum of the features of
+ * the single tiles, where the feature of a tile only depends on the
+ * positions around it. So, when a tile is placed or removed, only the
+ * features of the tiles around it change, and they can be updated with
+ * a delta, see {@link EvaluationAccumulator}.
+ * The features are counted for each player, with features[color].
+ */
+public interface IncrementalExpert extends Expert {
+    /**
+     * adds the feature of the tile in index to features, multiplied by sign.
+     * @param board bitboard of the gameboard
+     * @param index index of the position, nothing is added if it is empty
+     * @param sign 1 to add the feature, -1 to subtract it
+     * @param features features of the players, with features[color]
+     */
+    void addFeature(BitBoard board, int index, int sign, int[] features);
+
+    /**
+     * adds the features of all the tiles which depend on the position
+     * index to features, multiplied by sign.
+     * @param board bitboard of the gameboard
+     * @param index index of the position which changes
+     * @param sign 1 to add the features, -1 to subtract them
+     * @param features features of the players, with features[color]
+     */
+    void addLocalFeatures(BitBoard board, int index, int sign, int[] features);
+}
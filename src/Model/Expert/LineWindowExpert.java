@@ -0,0 +1,100 @@
+package Model.Expert;
+
+import Model.AndantinoBitBoard;
+import Model.AndantinoLineWindows;
+import Model.LineWindows;
+import Model.SearchGameTree.SearchPosition;
+import Model.Tile;
+
+import java.util.List;
+
+/**
+ * line window expert, it evaluates the rows which can still become
+ * five in a row. A window is a row of five positions along one of the
+ * three axes, see {@link AndantinoLineWindows}. If a window contains
+ * only tiles of one player, it is a threat of that player: the more tiles,
+ * the bigger the threat. So, an open window with four tiles is a row of
+ * five in a single move.
+ * The player who has the turn moves first, so its threats weigh more.
+ * The evaluation reads the number of open windows kept by the search
+ * position, with a table lookup for each number of tiles.
+ */
+public final class LineWindowExpert implements Expert {
+    /**
+     * value of an open window of the player who made the last move,
+     * with ownScores[n] where n is the number of tiles in the window.
+     * A full window is a win, which is evaluated by the win expert.
+     */
+    private static final int[] ownScores = { 0, 0, 1, 3, 8, 0 };
+
+    /**
+     * value of an open window of the player who has the turn.
+     */
+    private static final int[] enemyScores = { 0, 0, 1, 4, 16, 0 };
+
+    /**
+     * weight of this feature.
+     */
+    private int weight;
+
+    public LineWindowExpert() {
+        weight = 1;
+    }
+
+    /**
+     * gets the weight of this feature.
+     * @return weight of this feature
+     */
+    @Override
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * sets the weight of this expert.
+     * @param weight new weight to assign to this expert
+     */
+    @Override
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * determines the value of the open windows for the player who made
+     * the last move.
+     * @param windows windows of the gameboard
+     * @param color color of the player who made the last move
+     * @return value of the windows of color minus the value of the windows
+     * of the other player
+     */
+    static int evaluate(LineWindows windows, int color) {
+        int res = 0;
+        for (int stones = 1; stones < AndantinoLineWindows.LENGTH; stones++) {
+            res += ownScores[stones] * windows.countOpen(color, stones);
+            res -= enemyScores[stones] * windows.countOpen(color ^ 1, stones);
+        }
+        return res;
+    }
+
+    /**
+     * evaluates the weight of this feature.
+     * It assumes a non empty gameboard.
+     * @param gameBoard represents the gameboard of this game
+     * @return weight of the threats of the player who made the last move
+     */
+    @Override
+    public int getWeight(List<Tile> gameBoard) {
+        LineWindows windows = new AndantinoLineWindows(new AndantinoBitBoard(gameBoard));
+        return weight * evaluate(windows, gameBoard.get(gameBoard.size() - 1).getPlayer());
+    }
+
+    /**
+     * evaluates the weight of this feature, reading the windows of position.
+     * @param position position to evaluate
+     * @return weight of the threats of the player who made the last move
+     */
+    @Override
+    public int getWeight(SearchPosition position) {
+        return weight * evaluate(position.getWindows(), position.getLastPlayer());
+    }
+}
@@ -1,5 +1,6 @@
 package Model.Expert;
 
+import Model.SearchGameTree.SearchPosition;
 import Model.Supervisor.AndantinoSupervisor;
 import Model.Supervisor.GameSupervisor;
 import Model.Tile;
@@ -55,4 +56,15 @@ public final class LossExpert implements Expert {
             return weight;
         return 0;
     }
+
+    /**
+     * evaluates the weight of this feature, checking only the last move.
+     * @return weight of a loss
+     */
+    @Override
+    public int getWeight(SearchPosition position) {
+        if(!supervisor.hasWon(position))
+            return weight;
+        return 0;
+    }
 }
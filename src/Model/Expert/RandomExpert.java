@@ -1,12 +1,20 @@
 package Model.Expert;
 
+import Model.SearchGameTree.SearchPosition;
 import Model.Tile;
+import Model.TranspositionTables.ZobristKeys;
 
 import java.util.List;
 import java.util.SplittableRandom;
 
 /**
  * random expert, it evaluates a random weight.
+ * The random weight is not drawn from a generator at every evaluation,
+ * it is a hash of the Zobrist key of the position mixed with a seed,
+ * which is chosen once for every game. So the same position always has
+ * the same random weight: the evaluation is a pure function of the
+ * position, which can be cached and replayed, while two games still
+ * get different weights.
  */
 public final class RandomExpert implements Expert {
 
@@ -16,13 +24,25 @@ public final class RandomExpert implements Expert {
     private int weight;
 
     /**
-     * random generator.
+     * seed of the game, mixed with the key of the positions.
      */
-    SplittableRandom random;
+    private long seed;
 
+    /**
+     * constructs a random expert with a random seed.
+     */
     public RandomExpert() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * constructs a random expert with the specified seed, two experts
+     * with the same seed evaluate every position in the same way.
+     * @param seed seed of the game
+     */
+    public RandomExpert(long seed) {
         weight = 5;
-        random = new SplittableRandom();
+        this.seed = seed;
     }
 
     /**
@@ -43,13 +63,55 @@ public final class RandomExpert implements Expert {
         this.weight = weight;
     }
 
+    /**
+     * gets the seed of the game.
+     * @return seed mixed with the key of the positions
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * sets the seed of the game, the positions get new random weights.
+     * @param seed seed mixed with the key of the positions
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
     /**
      * evaluates the weight of the random feature.
      * It assumes a non empty gameboard.
-     * @return random number in [-weight,weight]
+     * @return number in [-weight,weight]
      */
     @Override
     public int getWeight(List<Tile> gameBoard) {
-        return random.nextInt(-weight, weight + 1);
+        return noise(ZobristKeys.hashConfiguration(gameBoard));
+    }
+
+    /**
+     * evaluates the weight of the random feature.
+     * @return number in [-weight,weight]
+     */
+    @Override
+    public int getWeight(SearchPosition position) {
+        return noise(position.getKey());
+    }
+
+    /**
+     * maps the key of a position to a number in [-weight,weight].
+     * The key and the seed are mixed with the finalizer of SplitMix64,
+     * so close keys get unrelated numbers.
+     * @param key Zobrist key of the position
+     * @return number in [-weight,weight], 0 if the weight is not positive
+     */
+    private int noise(long key) {
+        if (weight <= 0)
+            return 0;
+        long z = key ^ seed;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (int) ((z >>> 1) % (2L * weight + 1)) - weight;
     }
 }
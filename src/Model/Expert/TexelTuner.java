@@ -0,0 +1,431 @@
+package Model.Expert;
+
+import Model.HexGeometry;
+import Model.HexTile;
+import Model.SearchGameTree.AndantinoSearchPosition;
+import Model.SearchGameTree.SearchPosition;
+import Model.Supervisor.AndantinoSupervisor;
+import Model.Supervisor.GameSupervisor;
+import Model.Tile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * offline tuner of the weights of the experts, with the Texel method.
+ * Every position of a corpus of finished games is labelled with the result
+ * of its game, from the point of view of the player who made the last move
+ * (1 win, 0.5 draw, 0 loss). The evaluation of a position is mapped to
+ * a probability of winning with the sigmoid 1 / (1 + e^(-k * score)), and
+ * the weights are fitted by minimising the mean squared error between
+ * the probabilities and the results, with a local search (+1 / -1 on one
+ * weight at a time, as long as the error decreases).
+ * The features of the positions are extracted once, then the error is
+ * computed in parallel with a fork/join pool, so every step of the search
+ * is a single pass over a few primitive arrays.
+ * <p>
+ * The corpus is a text file with a game on every line:
+ * <pre>
+ * winner index index index ...
+ * </pre>
+ * where winner is 0 (black), 1 (white) or -1 (draw) and the indexes are
+ * the tiles placed after the center, in the order they were played
+ * (white moves first). Empty lines and lines starting with # are ignored.
+ * <p>
+ * Only the weights of the positional experts (bridge and line window) are
+ * tuned: the win and loss weights are the scores of the end of the game and
+ * the random weight is a noise, so they are written as they are.
+ * @see <a href="https://www.chessprogramming.org/Texel%27s_Tuning_Method">Texel's tuning method</a>
+ */
+public final class TexelTuner {
+    /**
+     * indexes of the features.
+     */
+    public static final int WIN = 0;
+    public static final int LOSS = 1;
+    public static final int BRIDGE = 2;
+    public static final int LINE = 3;
+    public static final int FEATURES = 4;
+
+    /**
+     * number of moves, at the beginning of a game, which are not used
+     * for the tuning.
+     */
+    private static final int OPENING_MOVES = 4;
+
+    /**
+     * number of positions processed by a single task.
+     */
+    private static final int THRESHOLD = 1 << 14;
+
+    /**
+     * number of games replayed by a single task.
+     */
+    private static final int GAMES_THRESHOLD = 64;
+
+    /**
+     * features of the positions, with features[feature][position].
+     */
+    private final int[][] features;
+
+    /**
+     * results of the positions, for the player who made the last move.
+     */
+    private final float[] results;
+
+    /**
+     * pool which computes the error.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * scaling factor of the sigmoid.
+     */
+    private double k;
+
+    /**
+     * constructs a tuner for the specified positions.
+     * @param features features of the positions, with features[feature][position]
+     * @param results results of the positions
+     * @param pool pool which computes the error
+     */
+    TexelTuner(int[][] features, float[] results, ForkJoinPool pool) {
+        this.features = features;
+        this.results = results;
+        this.pool = pool;
+        k = 1;
+    }
+
+    /**
+     * receiver of the progress of the tuning.
+     */
+    public interface Progress {
+        /**
+         * reports the end of a pass over the weights.
+         * @param iteration number of the pass, from 0
+         * @param error mean squared error after the pass
+         * @param weights weights after the pass, they must not be modified
+         */
+        void iteration(int iteration, double error, int[] weights);
+    }
+
+    /**
+     * a game of the corpus.
+     */
+    private static final class Game {
+        final int winner;
+        final int[] moves;
+
+        Game(int winner, int[] moves) {
+            this.winner = winner;
+            this.moves = moves;
+        }
+
+        int countPositions() {
+            return Math.max(0, moves.length - OPENING_MOVES);
+        }
+    }
+
+    /**
+     * reads the games of a corpus.
+     * @param corpus file of the corpus
+     * @return games in corpus
+     * @throws IOException if the file can not be read
+     * @throws IllegalArgumentException if a line is not a valid game
+     */
+    private static List<Game> readGames(Path corpus) throws IOException {
+        List<Game> games = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(corpus)) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#"))
+                    continue;
+                String[] values = line.split("\\s+");
+                try {
+                    int winner = Integer.parseInt(values[0]);
+                    if (winner < -1 || winner > 1)
+                        throw new IllegalArgumentException("line " + number + ": invalid winner " + winner);
+                    int[] moves = new int[values.length - 1];
+                    for (int i = 1; i < values.length; i++)
+                        moves[i - 1] = Integer.parseInt(values[i]);
+                    games.add(new Game(winner, moves));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("line " + number + ": " + e.getMessage());
+                }
+            }
+        }
+        return games;
+    }
+
+    /**
+     * replays a range of games and stores the features of their positions.
+     */
+    private static final class ExtractTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Game> games;
+        private final int[] offsets;
+        private final int begin, end;
+        private final int[][] features;
+        private final float[] results;
+
+        ExtractTask(List<Game> games, int[] offsets, int begin, int end,
+                    int[][] features, float[] results) {
+            this.games = games;
+            this.offsets = offsets;
+            this.begin = begin;
+            this.end = end;
+            this.features = features;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - begin > GAMES_THRESHOLD) {
+                int middle = (begin + end) >>> 1;
+                invokeAll(new ExtractTask(games, offsets, begin, middle, features, results),
+                        new ExtractTask(games, offsets, middle, end, features, results));
+                return;
+            }
+            GameSupervisor supervisor = new AndantinoSupervisor();
+            EvaluationAccumulator accumulator = new AndantinoEvaluationAccumulator(
+                    Collections.singletonList(new BridgeExpert()));
+            List<Tile> center = Collections.singletonList(HexTile.valueOf(0, 0));
+            for (int game = begin; game < end; game++) {
+                Game current = games.get(game);
+                SearchPosition position = new AndantinoSearchPosition(center, accumulator);
+                int next = offsets[game];
+                for (int i = 0; i < current.moves.length; i++) {
+                    int move = current.moves[i];
+                    if (move < 0 || move >= HexGeometry.SIZE || !position.isLegalMove(move))
+                        throw new IllegalArgumentException("game " + (game + 1) +
+                                ": illegal move " + move);
+                    position.makeMove(move);
+                    if (i < OPENING_MOVES)
+                        continue;
+                    int color = position.getLastPlayer();
+                    boolean won = supervisor.hasWon(position);
+                    features[WIN][next] = won ? 1 : 0;
+                    features[LOSS][next] = won ? 0 : 1;
+                    features[BRIDGE][next] = accumulator.getFeature(0, color);
+                    features[LINE][next] = LineWindowExpert.evaluate(position.getWindows(), color);
+                    if (current.winner == -1)
+                        results[next] = 0.5f;
+                    else
+                        results[next] = current.winner == color ? 1 : 0;
+                    next++;
+                }
+            }
+        }
+    }
+
+    /**
+     * loads the positions of a corpus. The games are replayed in parallel.
+     * @param corpus file of the corpus
+     * @param pool pool which replays the games and computes the error
+     * @return tuner of the positions in corpus
+     * @throws IOException if the file can not be read
+     * @throws IllegalArgumentException if the corpus contains an invalid game
+     */
+    public static TexelTuner load(Path corpus, ForkJoinPool pool) throws IOException {
+        List<Game> games = readGames(corpus);
+        int[] offsets = new int[games.size()];
+        int size = 0;
+        for (int game = 0; game < games.size(); game++) {
+            offsets[game] = size;
+            size += games.get(game).countPositions();
+        }
+        int[][] features = new int[FEATURES][size];
+        float[] results = new float[size];
+        pool.invoke(new ExtractTask(games, offsets, 0, games.size(), features, results));
+        return new TexelTuner(features, results, pool);
+    }
+
+    /**
+     * computes the sum of the squared errors of a range of positions.
+     */
+    private final class ErrorTask extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] weights;
+        private final int begin, end;
+
+        ErrorTask(int[] weights, int begin, int end) {
+            this.weights = weights;
+            this.begin = begin;
+            this.end = end;
+        }
+
+        @Override
+        protected Double compute() {
+            if (end - begin > THRESHOLD) {
+                int middle = (begin + end) >>> 1;
+                ErrorTask left = new ErrorTask(weights, begin, middle);
+                left.fork();
+                double right = new ErrorTask(weights, middle, end).compute();
+                return right + left.join();
+            }
+            double res = 0;
+            for (int position = begin; position < end; position++) {
+                int score = 0;
+                for (int feature = 0; feature < FEATURES; feature++)
+                    score += weights[feature] * features[feature][position];
+                double error = results[position] - 1 / (1 + Math.exp(-k * score));
+                res += error * error;
+            }
+            return res;
+        }
+    }
+
+    /**
+     * gets the number of positions.
+     * @return number of positions loaded in this tuner
+     */
+    public int size() {
+        return results.length;
+    }
+
+    /**
+     * computes the mean squared error of the weights.
+     * @param weights weights of the features
+     * @return mean squared error on all the positions
+     */
+    public double error(int[] weights) {
+        if (results.length == 0)
+            return 0;
+        return pool.invoke(new ErrorTask(weights.clone(), 0, results.length)) / results.length;
+    }
+
+    /**
+     * finds the scaling factor of the sigmoid which minimises the error
+     * of the weights, with a ternary search on its logarithm.
+     * @param weights weights of the features
+     * @return scaling factor, which is also used by the next computations
+     */
+    public double fitScale(int[] weights) {
+        double low = Math.log(1e-4), high = Math.log(10);
+        for (int i = 0; i < 40; i++) {
+            double first = low + (high - low) / 3, second = high - (high - low) / 3;
+            k = Math.exp(first);
+            double firstError = error(weights);
+            k = Math.exp(second);
+            if (firstError < error(weights))
+                high = second;
+            else
+                low = first;
+        }
+        k = Math.exp((low + high) / 2);
+        return k;
+    }
+
+    /**
+     * tunes the weights with a local search: every weight in tunable is
+     * changed by +1 or -1, and the change is kept if the error decreases.
+     * It stops when no change decreases the error.
+     * @param weights initial weights, they are not modified
+     * @param tunable indexes of the weights to tune
+     * @param maxIterations maximum number of passes over the weights
+     * @return tuned weights
+     */
+    public int[] tune(int[] weights, int[] tunable, int maxIterations) {
+        return tune(weights, tunable, maxIterations, (iteration, error, tuned) -> {});
+    }
+
+    /**
+     * tunes the weights with a local search, see {@link #tune(int[], int[], int)},
+     * and reports the error and the weights after every pass.
+     * @param weights initial weights, they are not modified
+     * @param tunable indexes of the weights to tune
+     * @param maxIterations maximum number of passes over the weights
+     * @param progress receiver of the progress of the tuning
+     * @return tuned weights
+     */
+    public int[] tune(int[] weights, int[] tunable, int maxIterations, Progress progress) {
+        int[] res = weights.clone();
+        double best = error(res);
+        boolean improved = true;
+        for (int iteration = 0; improved && iteration < maxIterations; iteration++) {
+            improved = false;
+            for (int feature : tunable) {
+                for (int delta = 1; delta >= -1; delta -= 2) {
+                    res[feature] += delta;
+                    double error = error(res);
+                    if (error < best) {
+                        best = error;
+                        improved = true;
+                        break;
+                    }
+                    res[feature] -= delta;
+                }
+            }
+            progress.iteration(iteration, best, res);
+        }
+        return res;
+    }
+
+    /**
+     * tunes the weights of the experts on a corpus and writes them in a file.
+     * Usage: TexelTuner corpus [output] [threads]. The default output is
+     * {@link ExpertWeights#DEFAULT_FILE}, whose weights are also the initial
+     * ones, and the default number of threads is the number of processors.
+     * @param args command line arguments
+     * @throws IOException if the corpus can not be read or the output can not
+     * be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: TexelTuner corpus [output] [threads]");
+            System.exit(1);
+        }
+        Path output = Paths.get(args.length > 1 ? args[1] : ExpertWeights.DEFAULT_FILE);
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        ExpertWeights initial = Files.isReadable(output) ? ExpertWeights.load(output) : new ExpertWeights();
+        Expert win = new WinExpert(), loss = new LossExpert(), random = new RandomExpert(),
+                bridge = new BridgeExpert(), line = new LineWindowExpert();
+        initial.apply(ExpertWeights.WIN, win);
+        initial.apply(ExpertWeights.LOSS, loss);
+        initial.apply(ExpertWeights.RANDOM, random);
+        initial.apply(ExpertWeights.BRIDGE, bridge);
+        initial.apply(ExpertWeights.LINE, line);
+        int[] weights = new int[FEATURES];
+        weights[WIN] = win.getWeight();
+        weights[LOSS] = loss.getWeight();
+        weights[BRIDGE] = bridge.getWeight();
+        weights[LINE] = line.getWeight();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long begin = System.currentTimeMillis();
+        TexelTuner tuner = load(Paths.get(args[0]), pool);
+        System.out.println("loaded " + tuner.size() + " positions in " +
+                (System.currentTimeMillis() - begin) + " ms");
+        System.out.println("k = " + tuner.fitScale(weights) + ", error " + tuner.error(weights));
+        weights = tuner.tune(weights, new int[] { BRIDGE, LINE }, 1000,
+                (iteration, error, tuned) -> System.out.println("iteration " + iteration +
+                        ": error " + error + ", weights " + Arrays.toString(tuned)));
+        System.out.println("tuned in " + (System.currentTimeMillis() - begin) + " ms");
+        pool.shutdown();
+
+        ExpertWeights result = new ExpertWeights();
+        result.set(ExpertWeights.WIN, weights[WIN]);
+        result.set(ExpertWeights.LOSS, weights[LOSS]);
+        result.set(ExpertWeights.RANDOM, random.getWeight());
+        result.set(ExpertWeights.BRIDGE, weights[BRIDGE]);
+        result.set(ExpertWeights.LINE, weights[LINE]);
+        result.save(output);
+        System.out.println("weights written in " + output);
+    }
+}
@@ -0,0 +1,14 @@
+package Model;
+
+/**
+ * frontier of a gameboard. It contains the empty positions
+ * where the next player can place a tile.
+ */
+public interface Frontier {
+    void place(int index);
+    void remove(int index);
+    boolean contains(int index);
+    int getMove(int i);
+    int size();
+    void clear();
+}
@@ -23,4 +23,6 @@ public interface GameBoard {
     boolean isBotVsHumanGame();
     boolean isBotVsBotGame();
     boolean isBotTurnHumanVsBot();
+    BitBoard getBitBoard();
+    List<Tile> getLegalMoves();
 }
@@ -0,0 +1,17 @@
+package Model;
+
+/**
+ * connected groups of tiles of a gameboard. Two tiles are in the same
+ * group if they have the same color and they are connected by adjacent tiles
+ * of that color. For every group it knows if there is still an empty position
+ * or the border of the gameboard next to it.
+ */
+public interface GroupTracker {
+    void place(int index);
+    void remove(int index);
+    int find(int index);
+    int countStones(int index);
+    int countLiberties(int index);
+    boolean isEnclosed(int index);
+    void clear();
+}
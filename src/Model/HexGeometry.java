@@ -0,0 +1,285 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * geometry of the hexagonal gameboard of Andantino (radius 9, 271 positions).
+ * All the tables are built once, when the class is loaded, and they are
+ * addressed by the index of the positions (see {@link HexTile#getIndex()}).
+ * For every position it stores:
+ * <ul>
+ *     <li>the indexes of its six neighbours (-1 if the neighbour is out of bounds);</li>
+ *     <li>the rays of four positions in each of the six directions;</li>
+ *     <li>the ring of the position, which is equal to its radius (distance
+ *     from the center).</li>
+ * </ul>
+ * The conversion from axis values to index is also available in closed
+ * form, see {@link #toIndex(int, int, int)}, while the inverse conversion
+ * reads the tables of the axis values.
+ * Note that this class is stateless and final, so the tables are shared
+ * and never modified.
+ */
+public final class HexGeometry {
+    /**
+     * number of positions in the gameboard.
+     */
+    public static final int SIZE = 271;
+
+    /**
+     * radius of the gameboard, it is equal to the ring of the border.
+     */
+    public static final int RADIUS = 9;
+
+    /**
+     * number of neighbours of a position.
+     */
+    public static final int DIRECTIONS = 6;
+
+    /**
+     * number of positions in a ray, starting from the position next to the origin.
+     */
+    public static final int RAY_LENGTH = 4;
+
+    /**
+     * directions of the neighbours, listed in a clockwise manner.
+     * So, direction (d + 1) % 6 is always next to direction d and
+     * direction (d + 3) % 6 is the opposite of direction d.
+     */
+    public static final int NORTH_EAST = 0;
+    public static final int EAST = 1;
+    public static final int SOUTH_EAST = 2;
+    public static final int SOUTH_WEST = 3;
+    public static final int WEST = 4;
+    public static final int NORTH_WEST = 5;
+
+    /**
+     * variation of the axis X, Y, Z for each direction.
+     */
+    private static final int[] deltaX = { 1, 1, 0, -1, -1, 0 };
+    private static final int[] deltaY = { 0, -1, -1, 0, 1, 1 };
+    private static final int[] deltaZ = { -1, 0, 1, 1, 0, -1 };
+
+    /**
+     * axis values of every position.
+     */
+    private static final int[] xAxis = new int[SIZE];
+    private static final int[] yAxis = new int[SIZE];
+    private static final int[] zAxis = new int[SIZE];
+
+    /**
+     * ring of every position.
+     */
+    private static final int[] rings = new int[SIZE];
+
+    /**
+     * index of every position, with indexes[x + 9][y + 9].
+     * It is equal to -1 if the axis values are out of bounds.
+     */
+    private static final int[][] indexes = new int[2 * RADIUS + 1][2 * RADIUS + 1];
+
+    /**
+     * neighbours of every position, with neighbours[index][direction].
+     */
+    private static final int[][] neighbours = new int[SIZE][DIRECTIONS];
+
+    /**
+     * rays of every position, with rays[index][direction][step], where
+     * step 0 is the neighbour in that direction.
+     */
+    private static final int[][][] rays = new int[SIZE][DIRECTIONS][RAY_LENGTH];
+
+    static {
+        for (int[] row : indexes)
+            Arrays.fill(row, -1);
+        // walks the spiral: the first element of every ring is the south west
+        // corner (x: -radius, y: 0, z: radius), then it follows the ring clockwise
+        int[] sides = { EAST, NORTH_EAST, NORTH_WEST, WEST, SOUTH_WEST, SOUTH_EAST };
+        setPosition(0, 0, 0, 0, 0);
+        int index = 1;
+        for (int ring = 1; ring <= RADIUS; ring++) {
+            int x = -ring, y = 0, z = ring;
+            setPosition(index++, x, y, z, ring);
+            for (int side = 0; side < sides.length; side++) {
+                // the last side stops one position before the first element
+                int steps = side == sides.length - 1 ? ring - 1 : ring;
+                for (int step = 0; step < steps; step++) {
+                    x += deltaX[sides[side]];
+                    y += deltaY[sides[side]];
+                    z += deltaZ[sides[side]];
+                    setPosition(index++, x, y, z, ring);
+                }
+            }
+        }
+        for (int position = 0; position < SIZE; position++) {
+            for (int direction = 0; direction < DIRECTIONS; direction++) {
+                neighbours[position][direction] = getIndex(
+                        xAxis[position] + deltaX[direction],
+                        yAxis[position] + deltaY[direction],
+                        zAxis[position] + deltaZ[direction]);
+                for (int step = 0; step < RAY_LENGTH; step++) {
+                    rays[position][direction][step] = getIndex(
+                            xAxis[position] + deltaX[direction] * (step + 1),
+                            yAxis[position] + deltaY[direction] * (step + 1),
+                            zAxis[position] + deltaZ[direction] * (step + 1));
+                }
+            }
+        }
+    }
+
+    private HexGeometry() {}
+
+    /**
+     * helper function to fill the tables of a position during the spiral walk.
+     * @param index index of the position
+     * @param x axis X of the position
+     * @param y axis Y of the position
+     * @param z axis Z of the position
+     * @param ring ring of the position
+     */
+    private static void setPosition(int index, int x, int y, int z, int ring) {
+        xAxis[index] = x;
+        yAxis[index] = y;
+        zAxis[index] = z;
+        rings[index] = ring;
+        indexes[x + RADIUS][y + RADIUS] = index;
+    }
+
+    /**
+     * determines if the axis values are the cube coordinates of a position
+     * of the gameboard.
+     * @param x axis X of the position
+     * @param y axis Y of the position
+     * @param z axis Z of the position
+     * @return true if x + y + z is equal to 0 and the position is not out of
+     * bounds, false otherwise
+     */
+    public static boolean isInside(int x, int y, int z) {
+        return x >= -RADIUS && x <= RADIUS && y >= -RADIUS && y <= RADIUS &&
+                z >= -RADIUS && z <= RADIUS && x + y + z == 0;
+    }
+
+    /**
+     * determines the index of the position with the specified axis values.
+     * @param x axis X of the position
+     * @param y axis Y of the position
+     * @param z axis Z of the position
+     * @return index of the position, -1 if it is out of bounds
+     */
+    public static int getIndex(int x, int y, int z) {
+        if (!isInside(x, y, z))
+            return -1;
+        return indexes[x + RADIUS][y + RADIUS];
+    }
+
+    /**
+     * determines the index of the position with the specified axis values,
+     * without any loop or table. The index is equal to 0 for the center,
+     * then it follows the rings: the first element of ring r is the south
+     * west corner (x: -r, y: 0, z: r), which has index 3r(r - 1) + 1, and
+     * the other elements follow clockwise. So, it is enough to find the side
+     * of the ring which contains the position and its distance from the
+     * corner where the side starts. Note that the spiral is not bounded by
+     * the radius of the gameboard, so the axis values must be checked
+     * with {@link #isInside(int, int, int)} if they can be out of bounds.
+     * @param x axis X of the position
+     * @param y axis Y of the position
+     * @param z axis Z of the position, with x + y + z equal to 0
+     * @return index of the position in the spiral
+     * @see <a href="https://www.redblobgames.com/grids/hexagons/#rings-spiral">Ring hexagons</a>
+     */
+    public static int toIndex(int x, int y, int z) {
+        int ring = Math.max(Math.abs(x), Math.max(Math.abs(y), Math.abs(z)));
+        if (ring == 0)
+            return 0;
+        int first = 3 * ring * (ring - 1) + 1;
+        // south and south east sides: x grows from -ring to ring
+        if ((z == ring && y <= 0) || y == -ring)
+            return first + ring + x;
+        // north east and north sides: y grows from -ring to ring
+        if (x == ring || z == -ring)
+            return first + 3 * ring + y;
+        // north west side: x decreases from 0 to -ring
+        if (y == ring)
+            return first + 4 * ring - x;
+        // south west side: z grows from 0 to ring - 1
+        return first + 5 * ring + z;
+    }
+
+    /**
+     * gets the axis X of a position.
+     * @param index index of the position
+     * @return axis X of the position
+     */
+    public static int getX(int index) {
+        return xAxis[index];
+    }
+
+    /**
+     * gets the axis Y of a position.
+     * @param index index of the position
+     * @return axis Y of the position
+     */
+    public static int getY(int index) {
+        return yAxis[index];
+    }
+
+    /**
+     * gets the axis Z of a position.
+     * @param index index of the position
+     * @return axis Z of the position
+     */
+    public static int getZ(int index) {
+        return zAxis[index];
+    }
+
+    /**
+     * gets the neighbour of a position in the specified direction.
+     * @param index index of the position
+     * @param direction direction of the neighbour (NORTH_EAST, ..., NORTH_WEST)
+     * @return index of the neighbour, -1 if it is out of bounds
+     */
+    public static int getNeighbour(int index, int direction) {
+        return neighbours[index][direction];
+    }
+
+    /**
+     * gets a position of the ray which starts from index in the specified
+     * direction.
+     * @param index index of the origin of the ray
+     * @param direction direction of the ray
+     * @param step step in the ray, in [0, RAY_LENGTH), 0 is the neighbour
+     * @return index of the position at distance step + 1 from index, -1 if
+     * it is out of bounds
+     */
+    public static int getRay(int index, int direction, int step) {
+        return rays[index][direction][step];
+    }
+
+    /**
+     * gets the ring of a position. The center has ring 0.
+     * @param index index of the position
+     * @return ring of the position, which is its distance from the center
+     */
+    public static int getRing(int index) {
+        return rings[index];
+    }
+
+    /**
+     * checks if a position is on the border of the gameboard.
+     * @param index index of the position
+     * @return true if the position has at least a neighbour out of bounds,
+     * false otherwise
+     */
+    public static boolean isBorder(int index) {
+        return rings[index] == RADIUS;
+    }
+
+    /**
+     * gets the opposite direction of direction.
+     * @param direction direction of a neighbour
+     * @return opposite direction
+     */
+    public static int opposite(int direction) {
+        return (direction + 3) % DIRECTIONS;
+    }
+}
@@ -2,7 +2,10 @@ package Model;
 
 /**
  * represents a tile in the gameboard.
- * Note that this class is immutable.
+ * Note that this class is immutable. So, the tiles of the gameboard
+ * are shared: {@link #valueOf(int, int)} and {@link #valueOf(int, int, int, int)}
+ * return the canonical instance of a position and a player, without
+ * creating a new tile.
  */
 public final class HexTile implements Tile {
     /**
@@ -27,6 +30,22 @@ public final class HexTile implements Tile {
      */
     private final int index;
 
+    /**
+     * canonical instances of the tiles, with tiles[player][index].
+     * There is a tile for every position of the gameboard and for
+     * both players (0: black, 1: white).
+     */
+    private static final HexTile[][] tiles = new HexTile[2][HexGeometry.SIZE];
+
+    static {
+        for (int player = 0; player < tiles.length; player++) {
+            for (int index = 0; index < HexGeometry.SIZE; index++) {
+                tiles[player][index] = new HexTile(HexGeometry.getX(index),
+                        HexGeometry.getY(index), HexGeometry.getZ(index), player, index);
+            }
+        }
+    }
+
     /**
      * constructs a new HexTile with the specified parameters.
      * It is used in conjunction with the copy factory.
@@ -45,7 +64,9 @@ public final class HexTile implements Tile {
     }
 
     /**
-     * constructs a hex tile.
+     * constructs a hex tile. The index is computed in closed form,
+     * see {@link HexGeometry#toIndex(int, int, int)}, and it is -1 if the
+     * axis values are not a position of the gameboard.
      * @param x x axis of the tile
      * @param y y axis of the tile
      * @param z z axis of the tile
@@ -56,136 +77,35 @@ public final class HexTile implements Tile {
         this.y = y;
         this.z = z;
         this.player = player;
-        index = createIndex();
+        index = HexGeometry.isInside(x, y, z) ? HexGeometry.toIndex(x, y, z) : -1;
     }
 
     /**
-     * determines the Manhattan distance between two tiles.
-     * @param x axis X of the first tile
-     * @param y axis Y of the first tile
-     * @param z axis Z of the first tile
-     * @param xx axis X of the second tile
-     * @param yy axis Y of the second tile
-     * @param zz axis Z of the second tile
-     * @return distance between the two tiles
-     */
-    private static int distance(int x, int y, int z, int xx, int yy, int zz) {
-        return (
-                Math.abs(x - xx) +
-                Math.abs(y - yy) +
-                Math.abs(z - zz)
-                ) / 2;
-    }
-
-    /**
-     * determines the index of this tile. The index is equal
-     * to 0 for the center (x: 0, y: 0, z: 0), then it increments
-     * by 1 following the next ring. So, the ring closest to
-     * the center (radius = 1), the tile x: -1,y: 0,z: 1 has index 1.
-     * Then the index is incremented following a rotation of the vector
-     * from the center to a tile in a clockwise manner. Also, the south west element in
-     * a new ring is always the first element of the ring, with axis:
-     * x: -radius, y: 0, z: radius.
-     * @return index of this tile in a hexagonal gameboard
-     * @see <a href="https://www.redblobgames.com/grids/hexagons/#rings-spiral">Ring hexagons</a>
-     */
-    private int createIndex() {
-        if((x == 0) && (y == 0) && (z == 0))
-            return 0;
-        if(equalsAxis(-1, 0, 1))      // south west corner
-            return 1;
-        if(equalsAxis(0,-1, 1))     // south east corner
-            return 2;
-        if(equalsAxis(1, -1, 0))    // east corner
-            return 3;
-        if(equalsAxis(1, 0, -1))  // north east corner
-            return 4;
-        if(equalsAxis(0, 1, -1))    // north west corner
-            return 5;
-        if(equalsAxis(-1, 1, 0))      // west corner
-            return 6;
-        int radius = this.radiusFromCenter();
-        // HexTile first = new HexTile(-radius, 0, radius, false);
-        if(x == -radius && y == 0 && z == radius)
-            return 1 + countInnerRingsTiles(radius); // the element + inner rings
-        return countInnerRingsTiles(radius) + countTilesRing(radius);
-    }
-
-    /**
-     * determines the radius of the tile from the center.
-     * @return Manhattan distance of the tile from the center
-     */
-    private int radiusFromCenter() {
-        return ( // center coordinates: 0,0,0
-                Math.abs(x) + Math.abs(y) + Math.abs(z)) / 2;
-    }
-
-    /**
-     * counts the number of elements in the inner rings
-     * from this tile. So, if this tile is in ring 3, then
-     * it counts the total number of elements in ring 1 and 2.
-     * Note that it does not count the center.
-     * Also, note that ring 1 is the one closest to the center.
-     * @param radius Manhattan distance from center
-     * @return number of tiles in inner rings
+     * gets the canonical tile of a position.
+     * @param index index of the position, in [0, 271)
+     * @param player color of the player
+     * @return shared instance of the tile
      */
-    private int countInnerRingsTiles(int radius) {
-        int res = 0;
-        for(int i = 1; i < radius; i++) {
-            res += i * 6;
-        }
-        return res;
+    public static HexTile valueOf(int index, int player) {
+        return tiles[player][index];
     }
 
     /**
-     * counts the number of tiles in the ring of a specified
-     * radius from begin to match.
-     * The sides are considered as follows (n = number of elements
-     * in a side - 1 = index of the tile = radius from center):
-     * south: z fixed; -n <= x <= 0; -n <= y <= 0;
-     * south east: y fixed; 0 < x <= n; 0 <= z < n;
-     * north east: x fixed; -n < y <= 0; -n <= z < 0;
-     * north: z fixed; 0 <= x < n; 0 < y <= n;
-     * north west: y fixed; -n <= x < 0; -n < z <= 0;
-     * south west: x fixed; 0 < y < n; 0 < z < n;
-     * @param axisIndex index of the axis of this ring
-     * @return number of elements found in the path
+     * gets the canonical tile with the specified axis values.
+     * If the axis values are not a position of the gameboard, it creates
+     * a new tile with index -1.
+     * @param x x axis of the tile
+     * @param y y axis of the tile
+     * @param z z axis of the tile
+     * @param player color of the player
+     * @return shared instance of the tile, or a new tile if it is
+     * out of bounds
      */
-    private int countTilesRing(int axisIndex) {
-        // match is in the south side of the ring
-        if(z == axisIndex && x >= -axisIndex &&
-            x <= 0 && y <= 0
-                && y >= -axisIndex) {
-            return 1 + distance(-axisIndex, 0, axisIndex, x, y, z);
-        }
-        // match is in the south east side of the ring
-        if(y == -axisIndex && x > 0 &&
-                x <= axisIndex &&
-            z >= 0 && z < axisIndex) {
-            // return all tiles in the bottom plus the number of tiles
-            // between the corner and x, y, z
-            return 1 + axisIndex + distance(0, -axisIndex, axisIndex, x, y, z);
-        }
-        // match is in the north east side of the ring
-        if(x == axisIndex && y <= 0
-                && y > -axisIndex &&
-            z < 0 && z >= -axisIndex) {
-            return 1 + (axisIndex * 2) + distance(axisIndex, -axisIndex, 0, x, y, z);
-        }
-        // match is in the north side of the ring
-        if(z == -axisIndex && y > 0 &&
-            y <= axisIndex && x >= 0
-                && x < axisIndex) {
-            return 1 + (axisIndex * 3) + distance(axisIndex, 0, -axisIndex, x, y, z);
-        }
-        // match is in the north west side of the ring
-        if(y == axisIndex && x < 0 &&
-        x >= -axisIndex && z <= 0 &&
-                z > -axisIndex) {
-            return 1 + (axisIndex * 4) + distance(0, axisIndex, -axisIndex, x, y, z);
-        }
-        // match is in the south west side of the ring
-            return 1 + (axisIndex * 5) + distance(-axisIndex, axisIndex, 0, x, y, z);
+    public static HexTile valueOf(int x, int y, int z, int player) {
+        int index = HexGeometry.getIndex(x, y, z);
+        if (index == -1)
+            return new HexTile(x, y, z, player);
+        return tiles[player][index];
     }
 
     /**
@@ -295,7 +215,7 @@ public final class HexTile implements Tile {
 
     /**
      * gets the index of this tile.
-     * @return index of this tile
+     * @return index of this tile, -1 if it is out of the gameboard
      */
     @Override
     public int getIndex() {
@@ -0,0 +1,14 @@
+package Model;
+
+/**
+ * windows of five consecutive positions of a gameboard, along the three
+ * axes. For every window it counts the tiles of each player, so the rows
+ * which can still become five in a row are known without scanning the gameboard.
+ */
+public interface LineWindows {
+    void place(int index, int color);
+    void remove(int index, int color);
+    int getCount(int window, int color);
+    int countOpen(int color, int stones);
+    void clear();
+}
@@ -0,0 +1,74 @@
+package Model;
+
+/**
+ * patterns of the neighbours of a position. The neighbours of a position
+ * which satisfy a condition (for example, occupied by a player) are packed
+ * in a mask of six bits, where the bit d is the neighbour in the direction d,
+ * see {@link BitBoard#getNeighbourMask(int, int)}. Since the directions are
+ * listed clockwise, two consecutive bits are two connected neighbours, and
+ * the first and the last bit are connected too.
+ * The features of a mask are computed once for the 64 masks, so the local
+ * shape of a position is checked with a single table lookup.
+ */
+public final class NeighbourPatterns {
+    /**
+     * number of masks of six neighbours.
+     */
+    public static final int MASKS = 1 << HexGeometry.DIRECTIONS;
+
+    /**
+     * all the neighbours.
+     */
+    public static final int FULL = MASKS - 1;
+
+    /**
+     * longest run of connected neighbours of every mask, with connected[mask].
+     */
+    private static final int[] connected = new int[MASKS];
+
+    static {
+        for (int mask = 0; mask < MASKS; mask++)
+            connected[mask] = countConnected(mask);
+    }
+
+    private NeighbourPatterns() {}
+
+    /**
+     * counts the longest run of connected neighbours of a mask, in a
+     * circular manner.
+     * @param mask mask of the neighbours
+     * @return length of the longest run, 6 if all the neighbours are in the mask
+     */
+    private static int countConnected(int mask) {
+        if (mask == FULL)
+            return HexGeometry.DIRECTIONS;
+        int res = 0, run = 0;
+        // two turns, so the runs which wrap around are counted
+        for (int i = 0; i < 2 * HexGeometry.DIRECTIONS; i++) {
+            if ((mask & (1 << (i % HexGeometry.DIRECTIONS))) != 0)
+                res = Math.max(res, ++run);
+            else
+                run = 0;
+        }
+        return res;
+    }
+
+    /**
+     * gets the longest run of connected neighbours of a mask.
+     * @param mask mask of the neighbours, in [0, MASKS)
+     * @return length of the longest run of connected neighbours
+     */
+    public static int getConnected(int mask) {
+        return connected[mask];
+    }
+
+    /**
+     * rotates a mask clockwise.
+     * @param mask mask of the neighbours
+     * @param steps number of directions of the rotation, in [0, DIRECTIONS)
+     * @return rotated mask
+     */
+    public static int rotate(int mask, int steps) {
+        return ((mask << steps) | (mask >>> (HexGeometry.DIRECTIONS - steps))) & FULL;
+    }
+}
@@ -0,0 +1,164 @@
+package Model.SearchGameTree;
+
+import Model.HexGeometry;
+
+import java.util.Arrays;
+
+/**
+ * ordering of the moves of the Andantino search. The moves are sorted in
+ * this order:
+ * <ol>
+ *     <li>the best move of the transposition table (hash move);</li>
+ *     <li>the killer moves of the ply, the last two moves which were a
+ *     cutoff in a sibling position;</li>
+ *     <li>the other moves, by their history score: how many cutoffs
+ *     the move (the same tile index, placed by the same player) gave in
+ *     the whole search, weighted by the square of the depth.</li>
+ * </ol>
+ * Every player has its own history, since a good position for a player
+ * is usually not good for the other one.
+ */
+public final class AndantinoMoveOrdering implements MoveOrdering {
+    /**
+     * number of killer moves of every ply.
+     */
+    public static final int KILLERS = 2;
+
+    /**
+     * when a history score reaches this value, all the scores of
+     * the player are halved, so they never overflow.
+     */
+    private static final int MAX_HISTORY = 1 << 24;
+
+    /**
+     * killer moves of every ply, with killers[ply][slot], -1 if there is none.
+     * The slot 0 is the most recent killer.
+     */
+    private final int[][] killers;
+
+    /**
+     * history score of every tile index of both players, with history[player][index].
+     */
+    private final int[][] history;
+
+    /**
+     * constructs an empty ordering.
+     * @param maxPly maximum ply of the search
+     */
+    public AndantinoMoveOrdering(int maxPly) {
+        killers = new int[maxPly + 1][KILLERS];
+        history = new int[2][HexGeometry.SIZE];
+        for (int[] slots : killers)
+            Arrays.fill(slots, -1);
+    }
+
+    /**
+     * sorts the moves of a position: the hash move, then the killer moves,
+     * then the other moves by decreasing history score. The hash move and
+     * the killer moves are moved to the front only if they are in moves,
+     * so they do not need to be legal.
+     * @param moves legal moves of the position
+     * @param size number of legal moves
+     * @param ply distance of the position from the root
+     * @param player player who has the turn in the position
+     * @param hashMove best move of the transposition table, -1 if there is none
+     */
+    @Override
+    public void order(int[] moves, int size, int ply, int player, int hashMove) {
+        int first = 0;
+        if (hashMove != -1 && moveToFront(moves, size, first, hashMove))
+            first++;
+        for (int slot = 0; slot < KILLERS; slot++) {
+            int killer = killers[ply][slot];
+            if (killer != -1 && killer != hashMove && moveToFront(moves, size, first, killer))
+                first++;
+        }
+        // insertion sort, the lists of legal moves are short
+        int[] scores = history[player];
+        for (int i = first + 1; i < size; i++) {
+            int move = moves[i];
+            int score = scores[move];
+            int j = i - 1;
+            while (j >= first && scores[moves[j]] < score) {
+                moves[j + 1] = moves[j];
+                j--;
+            }
+            moves[j + 1] = move;
+        }
+    }
+
+    /**
+     * swaps a move with the move in position first, if it is in moves
+     * after first.
+     * @return true if the move is found, false otherwise
+     */
+    private static boolean moveToFront(int[] moves, int size, int first, int move) {
+        for (int i = first; i < size; i++) {
+            if (moves[i] == move) {
+                moves[i] = moves[first];
+                moves[first] = move;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * updates the killer moves and the history after a cutoff.
+     * @param move move which gave the cutoff
+     * @param ply distance of the position from the root
+     * @param player player who made the move
+     * @param depth depth of the position
+     */
+    @Override
+    public void update(int move, int ply, int player, int depth) {
+        int[] slots = killers[ply];
+        if (slots[0] != move) {
+            System.arraycopy(slots, 0, slots, 1, KILLERS - 1);
+            slots[0] = move;
+        }
+        int[] scores = history[player];
+        scores[move] += depth * depth;
+        if (scores[move] >= MAX_HISTORY) {
+            for (int index = 0; index < HexGeometry.SIZE; index++)
+                scores[index] /= 2;
+        }
+    }
+
+    /**
+     * gets a killer move.
+     * @param ply distance of the position from the root
+     * @param slot 0 for the most recent killer move
+     * @return killer move, -1 if there is none
+     */
+    @Override
+    public int getKiller(int ply, int slot) {
+        return killers[ply][slot];
+    }
+
+    /**
+     * gets the history score of a move.
+     * @param player player who makes the move
+     * @param index index of the tile
+     * @return history score
+     */
+    @Override
+    public int getHistory(int player, int index) {
+        return history[player][index];
+    }
+
+    /**
+     * prepares the ordering for a new search. The killer moves are deleted,
+     * since the plies refer to the old root, and the history scores are
+     * halved, so the recent cutoffs count more than the old ones.
+     */
+    @Override
+    public void clear() {
+        for (int[] slots : killers)
+            Arrays.fill(slots, -1);
+        for (int[] scores : history) {
+            for (int index = 0; index < scores.length; index++)
+                scores[index] /= 2;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package Model.SearchGameTree;
+
+import Model.AndantinoBitBoard;
+import Model.AndantinoFrontier;
+import Model.AndantinoGroupTracker;
+import Model.AndantinoLineWindows;
+import Model.BitBoard;
+import Model.Expert.EvaluationAccumulator;
+import Model.Frontier;
+import Model.GroupTracker;
+import Model.HexGeometry;
+import Model.HexTile;
+import Model.LineWindows;
+import Model.Tile;
+import Model.TranspositionTables.ZobristKeys;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * position of the Andantino game used during the search.
+ * It keeps the played tiles, in the order they were placed, together
+ * with the bitboard, the frontier, the groups and the line windows
+ * of the gameboard. A move is
+ * made by {@link #makeMove(int)} and unmade by {@link #unmakeMove()},
+ * so the search only keeps the moves of the current path.
+ * The Zobrist key of the position is updated with a single xor on
+ * every move and undo.
+ * It must contain at least one tile (the center).
+ */
+public final class AndantinoSearchPosition implements SearchPosition {
+    /**
+     * played tiles. Always add elements to the end of the list to ease
+     * the undo of a move.
+     */
+    private final List<Tile> tiles;
+
+    /**
+     * unmodifiable view of @tiles.
+     */
+    private final List<Tile> tilesView;
+
+    /**
+     * bitboard of the played tiles.
+     */
+    private final BitBoard board;
+
+    /**
+     * legal moves of the position.
+     */
+    private final Frontier frontier;
+
+    /**
+     * connected groups of the played tiles.
+     */
+    private final GroupTracker groups;
+
+    /**
+     * windows of five positions, with the tiles of each player.
+     */
+    private final LineWindows windows;
+
+    /**
+     * features of the incremental experts, null if they are not accumulated.
+     */
+    private final EvaluationAccumulator accumulator;
+
+    /**
+     * Zobrist key of the played tiles.
+     */
+    private long key;
+
+    /**
+     * constructs a position with the tiles of gameBoard.
+     * @param gameBoard tiles in the gameboard representation, the last one
+     * is the last played move
+     */
+    public AndantinoSearchPosition(List<Tile> gameBoard) {
+        this(gameBoard, null);
+    }
+
+    /**
+     * constructs a position with the tiles of gameBoard, which updates
+     * the features of accumulator on every move and undo.
+     * @param gameBoard tiles in the gameboard representation, the last one
+     * is the last played move
+     * @param accumulator accumulator of the features, it is reset with the
+     * tiles of gameBoard. It can be null
+     */
+    public AndantinoSearchPosition(List<Tile> gameBoard, EvaluationAccumulator accumulator) {
+        tiles = new ArrayList<>(HexGeometry.SIZE);
+        tiles.addAll(gameBoard);
+        tilesView = Collections.unmodifiableList(tiles);
+        board = new AndantinoBitBoard(gameBoard);
+        frontier = new AndantinoFrontier(board);
+        groups = new AndantinoGroupTracker(board);
+        windows = new AndantinoLineWindows(board);
+        this.accumulator = accumulator;
+        if (accumulator != null)
+            accumulator.reset(board);
+        key = ZobristKeys.hashConfiguration(gameBoard);
+    }
+
+    /**
+     * places a tile, of the player who has the turn, in the position index.
+     * It assumes index is a legal move.
+     * @param index index of the position
+     */
+    @Override
+    public void makeMove(int index) {
+        Tile tile = HexTile.valueOf(index, getPlayerTurn());
+        tiles.add(tile);
+        if (accumulator != null)
+            accumulator.beforeChange(index);
+        board.place(index, tile.getPlayer());
+        if (accumulator != null)
+            accumulator.afterChange(index);
+        frontier.place(index);
+        groups.place(index);
+        windows.place(index, tile.getPlayer());
+        key ^= ZobristKeys.getKey(index, tile.getPlayer());
+    }
+
+    /**
+     * removes the last placed tile. Note that it can not remove the center.
+     * @return removed tile, null if the position contains only the center
+     */
+    @Override
+    public Tile unmakeMove() {
+        if (tiles.size() <= 1)
+            return null;
+        Tile tile = tiles.remove(tiles.size() - 1);
+        if (accumulator != null)
+            accumulator.beforeChange(tile.getIndex());
+        board.remove(tile.getIndex(), tile.getPlayer());
+        if (accumulator != null)
+            accumulator.afterChange(tile.getIndex());
+        frontier.remove(tile.getIndex());
+        groups.remove(tile.getIndex());
+        windows.remove(tile.getIndex(), tile.getPlayer());
+        key ^= ZobristKeys.getKey(tile.getIndex(), tile.getPlayer());
+        return tile;
+    }
+
+    /**
+     * copies the legal moves of this position in moves.
+     * If the position contains only the center, every neighbour
+     * of the center is a legal move.
+     * @param moves array where to copy the indexes of the legal moves,
+     * it must contain at least {@link HexGeometry#SIZE} elements
+     * @return number of legal moves
+     */
+    @Override
+    public int getLegalMoves(int[] moves) {
+        if (tiles.size() == 1) {
+            for (int direction = 0; direction < HexGeometry.DIRECTIONS; direction++)
+                moves[direction] = HexGeometry.getNeighbour(0, direction);
+            return HexGeometry.DIRECTIONS;
+        }
+        int size = frontier.size();
+        for (int i = 0; i < size; i++)
+            moves[i] = frontier.getMove(i);
+        return size;
+    }
+
+    /**
+     * checks if a position is a legal move.
+     * @param index index of the position, also out of bounds
+     * @return true if a tile can be placed in index, false otherwise
+     */
+    @Override
+    public boolean isLegalMove(int index) {
+        if (index < 0 || index >= HexGeometry.SIZE) // out of the gameboard
+            return false;
+        if (tiles.size() == 1)
+            return HexGeometry.getRing(index) == 1;
+        return frontier.contains(index);
+    }
+
+    /**
+     * gets the index of the last placed tile.
+     * @return index of the last placed tile
+     */
+    @Override
+    public int getLastIndex() {
+        return getLastTile().getIndex();
+    }
+
+    /**
+     * gets the player of the last placed tile.
+     * @return color of the player who made the last move
+     */
+    @Override
+    public int getLastPlayer() {
+        return getLastTile().getPlayer();
+    }
+
+    /**
+     * gets the last placed tile.
+     * @return last tile in this position
+     */
+    @Override
+    public Tile getLastTile() {
+        return tiles.get(tiles.size() - 1);
+    }
+
+    /**
+     * gets the player who has to make the next move.
+     * @return color of the player who has the turn
+     */
+    @Override
+    public int getPlayerTurn() {
+        return getLastPlayer() ^ 1;
+    }
+
+    /**
+     * gets the number of tiles in this position.
+     * @return number of played tiles, center included
+     */
+    @Override
+    public int size() {
+        return tiles.size();
+    }
+
+    /**
+     * gets the Zobrist key of this position.
+     * @return xor of the keys of all the played tiles
+     */
+    @Override
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * gets the bitboard of this position.
+     * @return bitboard of the played tiles
+     */
+    @Override
+    public BitBoard getBitBoard() {
+        return board;
+    }
+
+    /**
+     * gets the frontier of this position.
+     * @return frontier of the legal moves
+     */
+    @Override
+    public Frontier getFrontier() {
+        return frontier;
+    }
+
+    /**
+     * gets the groups of this position.
+     * @return connected groups of the played tiles
+     */
+    @Override
+    public GroupTracker getGroups() {
+        return groups;
+    }
+
+    /**
+     * gets the line windows of this position.
+     * @return windows of five positions of the gameboard
+     */
+    @Override
+    public LineWindows getWindows() {
+        return windows;
+    }
+
+    /**
+     * gets the accumulator of the features of this position.
+     * @return accumulator of the incremental experts, null if there is none
+     */
+    @Override
+    public EvaluationAccumulator getAccumulator() {
+        return accumulator;
+    }
+
+    /**
+     * gets the played tiles of this position.
+     * @return unmodifiable view of the played tiles, in the order they were placed
+     */
+    @Override
+    public List<Tile> getTiles() {
+        return tilesView;
+    }
+}
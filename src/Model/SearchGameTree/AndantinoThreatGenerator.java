@@ -0,0 +1,251 @@
+package Model.SearchGameTree;
+
+import Model.AndantinoLineWindows;
+import Model.BitBoard;
+import Model.GroupTracker;
+import Model.HexGeometry;
+import Model.LineWindows;
+import Model.Tile;
+
+import java.util.Arrays;
+
+/**
+ * generator of the forcing moves of Andantino. There are two kinds of threats:
+ * <ul>
+ *     <li>a row threat (four): a window of five positions with four tiles of a
+ *     player and an empty position, which wins when it is filled;</li>
+ *     <li>an enclosure threat: a group with a single empty neighbour and no
+ *     neighbour out of the gameboard, which is enclosed when the other player
+ *     places a tile in that neighbour.</li>
+ * </ul>
+ * The fours are found with the counts of the line windows of the position.
+ * The enclosure threats are searched in every group of the color, with a
+ * flood fill only in the groups which have few empty neighbours.
+ * An instance keeps the marks of its flood fills, so it can be used by
+ * one thread only.
+ */
+public final class AndantinoThreatGenerator implements ThreatGenerator {
+    /**
+     * number of tiles of a window which is a four.
+     */
+    private static final int FOUR = AndantinoLineWindows.LENGTH - 1;
+
+    /**
+     * mark of the tiles visited by every flood fill, with visited[index].
+     */
+    private final int[] visited;
+
+    /**
+     * mark of the current flood fill.
+     */
+    private int mark;
+
+    /**
+     * mark of the groups checked by every search of enclosures, with checked[root].
+     */
+    private final int[] checked;
+
+    /**
+     * mark of the current search of enclosures.
+     */
+    private int groupMark;
+
+    /**
+     * tiles to visit by the current flood fill.
+     */
+    private final int[] stack;
+
+    /**
+     * empty neighbours found by the last flood fill.
+     */
+    private final int[] liberties;
+
+    /**
+     * constructs a generator of forcing moves.
+     */
+    public AndantinoThreatGenerator() {
+        visited = new int[HexGeometry.SIZE];
+        checked = new int[HexGeometry.SIZE];
+        stack = new int[HexGeometry.SIZE];
+        liberties = new int[2];
+    }
+
+    /**
+     * finds the moves which win the game for the player who has the turn:
+     * the empty position of a four of the player, or the last empty
+     * neighbour of a group of the other player.
+     * @param position current position
+     * @param moves legal winning moves, without duplicates
+     * @return number of winning moves
+     */
+    @Override
+    public int getWinningMoves(SearchPosition position, int[] moves) {
+        int player = position.getPlayerTurn();
+        int size = addRowMoves(position, player, FOUR, moves, 0);
+        return addEnclosureMoves(position, player ^ 1, 1, moves, size);
+    }
+
+    /**
+     * finds the moves which block a win of the other player in the next move:
+     * the empty position of a four of the other player, or the last empty
+     * neighbour of a group of the player who has the turn.
+     * @param position current position
+     * @param moves legal blocking moves, without duplicates
+     * @return number of blocking moves
+     */
+    @Override
+    public int getBlockingMoves(SearchPosition position, int[] moves) {
+        int player = position.getPlayerTurn();
+        int size = addRowMoves(position, player ^ 1, FOUR, moves, 0);
+        return addEnclosureMoves(position, player, 1, moves, size);
+    }
+
+    /**
+     * finds the moves which make a threat for the player who has the turn:
+     * a move which completes a four, or which leaves a group of the other
+     * player with one empty neighbour.
+     * @param position current position
+     * @param moves legal threat moves, without duplicates
+     * @return number of threat moves
+     */
+    @Override
+    public int getThreatMoves(SearchPosition position, int[] moves) {
+        int player = position.getPlayerTurn();
+        int size = addRowMoves(position, player, FOUR - 1, moves, 0);
+        return addEnclosureMoves(position, player ^ 1, 2, moves, size);
+    }
+
+    /**
+     * adds the empty positions of the open windows with the specified
+     * number of tiles of a player.
+     * @param position current position
+     * @param color color of the windows
+     * @param stones number of tiles of color in the windows
+     * @param moves legal moves found so far
+     * @param size number of moves found so far
+     * @return new number of moves
+     */
+    private static int addRowMoves(SearchPosition position, int color, int stones,
+                                   int[] moves, int size) {
+        LineWindows windows = position.getWindows();
+        if (windows.countOpen(color, stones) == 0)
+            return size;
+        BitBoard board = position.getBitBoard();
+        for (int window = 0; window < AndantinoLineWindows.WINDOWS; window++) {
+            if (windows.getCount(window, color) != stones || windows.getCount(window, color ^ 1) != 0)
+                continue;
+            for (int i = 0; i < AndantinoLineWindows.LENGTH; i++) {
+                int cell = AndantinoLineWindows.getCell(window, i);
+                if (!board.isOccupied(cell))
+                    size = add(position, cell, moves, size);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * adds the empty neighbours of the groups of a color which have at most
+     * the specified number of empty neighbours and do not touch the border
+     * of the gameboard.
+     * @param position current position
+     * @param color color of the groups
+     * @param maxLiberties maximum number of empty neighbours, 1 or 2
+     * @param moves legal moves found so far
+     * @param size number of moves found so far
+     * @return new number of moves
+     */
+    private int addEnclosureMoves(SearchPosition position, int color, int maxLiberties,
+                                  int[] moves, int size) {
+        GroupTracker groups = position.getGroups();
+        if (++groupMark == Integer.MAX_VALUE) { // the old marks could be confused
+            Arrays.fill(checked, 0);
+            groupMark = 1;
+        }
+        for (Tile tile : position.getTiles()) {
+            if (tile.getPlayer() != color)
+                continue;
+            int root = groups.find(tile.getIndex());
+            if (checked[root] == groupMark)
+                continue;
+            checked[root] = groupMark;
+            size = addLiberties(position, root, maxLiberties, moves, size);
+        }
+        return size;
+    }
+
+    /**
+     * adds the empty neighbours of a group, if they are at most maxLiberties
+     * and the group does not touch the border of the gameboard.
+     * @param position current position
+     * @param index index of a tile of the group
+     * @param maxLiberties maximum number of empty neighbours
+     * @param moves legal moves found so far
+     * @param size number of moves found so far
+     * @return new number of moves
+     */
+    private int addLiberties(SearchPosition position, int index, int maxLiberties,
+                             int[] moves, int size) {
+        // an empty position is next to six tiles of the group at most
+        if (position.getGroups().countLiberties(index) > maxLiberties * HexGeometry.DIRECTIONS)
+            return size;
+        int count = findLiberties(position.getBitBoard(), index, maxLiberties);
+        for (int i = 0; i < count; i++)
+            size = add(position, liberties[i], moves, size);
+        return size;
+    }
+
+    /**
+     * finds the empty neighbours of a group with a flood fill, which stops
+     * as soon as there are too many of them or the group touches the border.
+     * @param board bitboard of the position
+     * @param index index of a tile of the group
+     * @param maxLiberties maximum number of empty neighbours
+     * @return number of empty neighbours in liberties, 0 if they are more
+     * than maxLiberties or the group touches the border
+     */
+    private int findLiberties(BitBoard board, int index, int maxLiberties) {
+        int color = board.getColor(index);
+        if (++mark == Integer.MAX_VALUE) { // the old marks could be confused
+            Arrays.fill(visited, 0);
+            mark = 1;
+        }
+        int top = 0;
+        int count = 0;
+        stack[top++] = index;
+        visited[index] = mark;
+        while (top > 0) {
+            int tile = stack[--top];
+            for (int direction = 0; direction < HexGeometry.DIRECTIONS; direction++) {
+                int neighbour = HexGeometry.getNeighbour(tile, direction);
+                if (neighbour == -1)
+                    return 0; // it can not be enclosed
+                if (!board.isOccupied(neighbour)) {
+                    if (count > 0 && (liberties[0] == neighbour || (count > 1 && liberties[1] == neighbour)))
+                        continue;
+                    if (count == maxLiberties)
+                        return 0;
+                    liberties[count++] = neighbour;
+                } else if (board.isOccupied(neighbour, color) && visited[neighbour] != mark) {
+                    visited[neighbour] = mark;
+                    stack[top++] = neighbour;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * adds a move, if it is legal and it is not already in moves.
+     * @return new number of moves
+     */
+    private static int add(SearchPosition position, int move, int[] moves, int size) {
+        if (!position.isLegalMove(move))
+            return size;
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move)
+                return size;
+        }
+        moves[size] = move;
+        return size + 1;
+    }
+}
@@ -0,0 +1,178 @@
+package Model.SearchGameTree;
+
+import Model.HexGeometry;
+import Model.Supervisor.AndantinoSupervisor;
+import Model.Supervisor.GameSupervisor;
+
+/**
+ * threat-space search of Andantino, in the style of the victory by continuous
+ * fours (VCF) of Gomoku. The attacker, the player who has the turn, only plays
+ * threats: moves which make a four, or which leave a group of the defender
+ * with one empty neighbour (see {@link AndantinoThreatGenerator}). After a
+ * threat, the defender has only the moves which block it: any other move
+ * loses at once, because the attacker fills the empty position and wins.
+ * So the tree is narrow, and a forced win is proven many plies deeper than
+ * the full-width search can see.
+ * The attacker wins a position if:
+ * <ul>
+ *     <li>it has a winning move, or</li>
+ *     <li>it has a threat such that the defender has no winning move and
+ *     the attacker wins the position after every blocking move.</li>
+ * </ul>
+ * When the defender threatens to win, the attacker must block: the sequence
+ * goes on only if the blocking move is a threat too.
+ * The search is bounded by a number of plies and of positions, so it gives
+ * up quickly in the positions without a forced win: it never proves a win
+ * which does not exist, but it can miss a long one.
+ */
+public final class AndantinoThreatSpaceSearch implements ThreatSpaceSearch {
+    /**
+     * default maximum number of plies of a proof.
+     */
+    public static final int MAX_PLIES = 24;
+
+    /**
+     * default maximum number of positions of a search.
+     */
+    public static final long MAX_NODES = 20000;
+
+    /**
+     * maximum number of plies of a proof and of positions of a search.
+     */
+    private final int maxPlies;
+    private final long maxNodes;
+
+    /**
+     * generator of the threats and of the blocking moves.
+     */
+    private final ThreatGenerator threats;
+
+    /**
+     * supervisor to determine the win.
+     */
+    private final GameSupervisor supervisor;
+
+    /**
+     * moves of every ply of the current sequence, with moves[ply][i].
+     */
+    private final int[][] moves;
+
+    /**
+     * moves of the other player which win in one move, for every ply.
+     */
+    private final int[][] blocks;
+
+    /**
+     * number of positions of the last search.
+     */
+    private long nodes;
+
+    /**
+     * constructs a threat-space search with the default bounds.
+     */
+    public AndantinoThreatSpaceSearch() {
+        this(MAX_PLIES, MAX_NODES);
+    }
+
+    /**
+     * constructs a threat-space search.
+     * @param maxPlies maximum number of plies of a proof
+     * @param maxNodes maximum number of positions of a search
+     */
+    public AndantinoThreatSpaceSearch(int maxPlies, long maxNodes) {
+        this.maxPlies = maxPlies;
+        this.maxNodes = maxNodes;
+        threats = new AndantinoThreatGenerator();
+        supervisor = new AndantinoSupervisor();
+        moves = new int[maxPlies + 1][HexGeometry.SIZE];
+        blocks = new int[maxPlies + 1][HexGeometry.SIZE];
+    }
+
+    /**
+     * searches a forced win for the player who has the turn. The position
+     * is restored before returning.
+     * @param position position of the game, the game is not over
+     * @return winning move, -1 if no win was proven
+     */
+    @Override
+    public int solve(SearchPosition position) {
+        nodes = 0;
+        return attack(position, 0);
+    }
+
+    /**
+     * gets the number of positions of the last search.
+     * @return number of positions searched by {@link #solve(SearchPosition)}
+     */
+    @Override
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * searches a winning threat of the attacker, who has the turn.
+     * @param position current position
+     * @param ply plies from the root
+     * @return winning move, -1 if no win was proven
+     */
+    private int attack(SearchPosition position, int ply) {
+        nodes++;
+        int[] candidates = moves[ply];
+        if (threats.getWinningMoves(position, candidates) > 0)
+            return candidates[0];
+        if (ply + 2 > maxPlies)
+            return -1;
+        int[] defenderWins = blocks[ply];
+        int blocking = threats.getBlockingMoves(position, defenderWins);
+        if (blocking > 1)
+            return -1; // two threats of the defender can not be blocked
+        int size = threats.getThreatMoves(position, candidates);
+        if (blocking == 1) { // the only move which does not lose
+            boolean threat = false;
+            for (int i = 0; i < size && !threat; i++)
+                threat = candidates[i] == defenderWins[0];
+            if (!threat)
+                return -1;
+            candidates[0] = defenderWins[0];
+            size = 1;
+        }
+        for (int i = 0; i < size && nodes < maxNodes; i++) {
+            int move = candidates[i];
+            position.makeMove(move);
+            boolean won = supervisor.hasWon(position) || defend(position, ply + 1);
+            position.unmakeMove();
+            if (won)
+                return move;
+        }
+        return -1;
+    }
+
+    /**
+     * checks if the attacker wins after every blocking move of the defender,
+     * who has the turn after a threat.
+     * @param position current position
+     * @param ply plies from the root
+     * @return true if the attacker wins, false otherwise
+     */
+    private boolean defend(SearchPosition position, int ply) {
+        nodes++;
+        // the threat encloses a group of the attacker, the defender wins with any move
+        if (position.getGroups().isEnclosed(position.getLastIndex()))
+            return false;
+        int[] replies = moves[ply];
+        // every win of the defender refutes the threat
+        if (threats.getWinningMoves(position, replies) > 0)
+            return false;
+        int size = threats.getBlockingMoves(position, replies);
+        if (size == 0)
+            return false; // the threat can not be completed yet
+        for (int i = 0; i < size; i++) {
+            position.makeMove(replies[i]);
+            boolean won = !supervisor.hasWon(position) && attack(position, ply + 1) != -1;
+            position.unmakeMove();
+            if (!won)
+                return false;
+        }
+        return true;
+    }
+}
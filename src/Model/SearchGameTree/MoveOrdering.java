@@ -0,0 +1,13 @@
+package Model.SearchGameTree;
+
+/**
+ * ordering of the legal moves of the search. The moves which are
+ * more likely to be a cutoff are searched first.
+ */
+public interface MoveOrdering {
+    void order(int[] moves, int size, int ply, int player, int hashMove);
+    void update(int move, int ply, int player, int depth);
+    int getKiller(int ply, int slot);
+    int getHistory(int player, int index);
+    void clear();
+}
@@ -0,0 +1,34 @@
+package Model.SearchGameTree;
+
+import Model.BitBoard;
+import Model.Expert.EvaluationAccumulator;
+import Model.Frontier;
+import Model.GroupTracker;
+import Model.LineWindows;
+import Model.Tile;
+
+import java.util.List;
+
+/**
+ * mutable position of a game, used during the search.
+ * Moves are made and unmade on the same instance, so the
+ * search never copies the gameboard.
+ */
+public interface SearchPosition {
+    void makeMove(int index);
+    Tile unmakeMove();
+    int getLegalMoves(int[] moves);
+    boolean isLegalMove(int index);
+    int getLastIndex();
+    int getLastPlayer();
+    Tile getLastTile();
+    int getPlayerTurn();
+    int size();
+    long getKey();
+    BitBoard getBitBoard();
+    Frontier getFrontier();
+    GroupTracker getGroups();
+    LineWindows getWindows();
+    EvaluationAccumulator getAccumulator();
+    List<Tile> getTiles();
+}
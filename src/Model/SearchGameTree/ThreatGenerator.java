@@ -0,0 +1,12 @@
+package Model.SearchGameTree;
+
+/**
+ * generator of the forcing moves of a position: the moves which win,
+ * which block a win of the other player, or which threaten a win.
+ * They are the only moves searched by the quiescence search.
+ */
+public interface ThreatGenerator {
+    int getWinningMoves(SearchPosition position, int[] moves);
+    int getBlockingMoves(SearchPosition position, int[] moves);
+    int getThreatMoves(SearchPosition position, int[] moves);
+}
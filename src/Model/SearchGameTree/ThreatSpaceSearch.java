@@ -0,0 +1,10 @@
+package Model.SearchGameTree;
+
+/**
+ * search of the threat space of a position. It looks only at the sequences
+ * of threats of the player who has the turn, to prove a forced win.
+ */
+public interface ThreatSpaceSearch {
+    int solve(SearchPosition position);
+    long getNodes();
+}
@@ -1,9 +1,14 @@
 package Model.Supervisor;
 
+import Model.AndantinoBitBoard;
+import Model.AndantinoGroupTracker;
+import Model.BitBoard;
+import Model.GroupTracker;
+import Model.HexGeometry;
+import Model.SearchGameTree.SearchPosition;
 import Model.Tile;
 
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * supervisor of the Andantino game. It is the referee of
@@ -14,273 +19,92 @@ public final class AndantinoSupervisor implements GameSupervisor {
 
         public AndantinoSupervisor () {}
 
-        /**
-         * determines if the north east neighbour is an enemy player.
-         * @param tile tile to use as center to find the north east neighbour
-         * @param gameBoard gameboard of the game
-         * @return true if the enemy exists else false
-         */
-        @Override
-        public boolean isNorthEastNeighbourEnemy(Tile tile, List<Tile> gameBoard) {
-            return gameBoard.stream()
-                    .anyMatch(t ->
-                            tile.getX() + 1 == t.getX() &&
-                                    tile.getY()  == t.getY() &&
-                                    tile.getZ() - 1 == t.getZ() &&
-                                    tile.getPlayer() != t.getPlayer()
-                    );
-        }
-
-        /**
-         * determines if the east neighbour is an enemy player.
-         * @param tile tile to use as center to find the east neighbour
-         * @param gameBoard gameboard of the game
-         * @return true if the enemy exists else false
-         */
-        @Override
-        public boolean isEastNeighbourEnemy(Tile tile, List<Tile> gameBoard) {
-            return gameBoard.stream()
-                    .anyMatch(t ->
-                            tile.getX() + 1 == t.getX() &&
-                                    tile.getY() - 1 == t.getY() &&
-                                    tile.getZ() == t.getZ() &&
-                                    tile.getPlayer() != t.getPlayer()
-                    );
-        }
-
-        /**
-         * determines if the south east neighbour is an enemy player.
-         * @param tile tile to use as center to find the south east neighbour
-         * @param gameBoard gameboard of the game
-         * @return true if the enemy exists else false
-         */
-        @Override
-        public boolean isSouthEastNeighbourEnemy(Tile tile, List<Tile> gameBoard) {
-            return gameBoard.stream()
-                    .anyMatch(t ->
-                            tile.getX() == t.getX() &&
-                                    tile.getY() - 1 == t.getY() &&
-                                    tile.getZ() + 1 == t.getZ() &&
-                                    tile.getPlayer() != t.getPlayer()
-                    );
-        }
-
-        /**
-         * determines if the south west neighbour is an enemy player.
-         * @param tile tile to use as center to find the south west neighbour
-         * @param gameBoard gameboard of the game
-         * @return true if the enemy exists else false
-         */
-        @Override
-        public boolean isSouthWestNeighbourEnemy(Tile tile, List<Tile> gameBoard) {
-            return gameBoard.stream()
-                    .anyMatch(t ->
-                            tile.getX() - 1 == t.getX() &&
-                                    tile.getY()  == t.getY() &&
-                                    tile.getZ() + 1 == t.getZ() &&
-                                    tile.getPlayer() != t.getPlayer()
-                    );
-        }
-
-        /**
-         * determines if the west neighbour is an enemy player.
-         * @param tile tile to use as center to find the west neighbour
-         * @param gameBoard gameboard of the game
-         * @return true if the enemy exists else false
-         */
-        @Override
-        public boolean isWestNeighbourEnemy(Tile tile, List<Tile> gameBoard) {
-            return gameBoard.stream()
-                    .anyMatch(t ->
-                            tile.getX() - 1 == t.getX() &&
-                                    tile.getY() + 1 == t.getY() &&
-                                    tile.getZ() == t.getZ() &&
-                                    tile.getPlayer() != t.getPlayer()
-                    );
-        }
-
-        /**
-         * determines if the north west neighbour is an enemy player.
-         * @param tile tile to use as center to find the north east neighbour
-         * @param gameBoard gameboard of the game
-         * @return true if the enemy exists else false
-         */
-        @Override
-        public boolean isNorthWestNeighbourEnemy(Tile tile, List<Tile> gameBoard) {
-            return gameBoard.stream()
-                    .anyMatch(t ->
-                            tile.getX() == t.getX() &&
-                                    tile.getY() + 1 == t.getY() &&
-                                    tile.getZ() - 1 == t.getZ() &&
-                                    tile.getPlayer() != t.getPlayer()
-                    );
-        }
-
-        /**
-         * finds two equals tiles with the same color with the given axis.
-         * @param tile tile to match
-         * @param xIndex axis X for the tile to match
-         * @param yIndex axis Y for the tile to match
-         * @param zIndex axis Z for the tile to match
-         */
-        private boolean findMate(Tile tile, int xIndex, int yIndex, int zIndex, List<Tile> gameBoard) {
-            return gameBoard.stream()
-                    .anyMatch(t ->
-                            t.getX() == tile.getX() + xIndex &&
-                                    t.getY() == tile.getY() + yIndex &&
-                                    t.getZ() == tile.getZ() + zIndex &&
-                                    t.getPlayer() == tile.getPlayer());
-        }
-
         /**
          * determines if there is a row of five tiles, with the same color.
-         * The row starts from @tile
-         * in direction north east (x = +1, y = y, z = -1).
+         * The row starts from @tile and follows the ray in the specified direction.
          * @param tile starting tile to find a row of five tiles
-         */
-        private boolean isNorthEastRowOfFive(Tile tile, List<Tile> gameBoard) {
-            int xIndex = 1, zIndex = -1, size = gameBoard.size();
-            for (int curr = 0; curr < size && curr < 5; curr++) {
-                if (findMate(tile, xIndex, 0, zIndex, gameBoard)) {
-                    xIndex++;
-                    zIndex--;
-                } // no ajdacent next element => no row of five
-                else
-                    return false;
+         * @param direction direction of the row, see {@link HexGeometry}
+         * @param board bitboard of the gameboard
+         */
+        private boolean isRowOfFive(Tile tile, int direction, BitBoard board) {
+            for (int step = 0; step < HexGeometry.RAY_LENGTH; step++) {
+                int mate = HexGeometry.getRay(tile.getIndex(), direction, step);
+                if (mate == -1 || !board.isOccupied(mate, tile.getPlayer()))
+                    return false; // no ajdacent next element => no row of five
             }
             return true;
         }
 
         /**
-         * determines if there is a row of five tiles, with the same color.
-         * The row starts from @tile
-         * in direction east (x = +1, y = -1, z = z).
-         * @param tile starting tile to find a row of five tiles
+         * counts the tiles with the same color of tile, which are adjacent to
+         * each other, starting from the neighbour of tile in the specified direction.
+         * It stops after {@link HexGeometry#RAY_LENGTH} tiles, because a longer
+         * run does not change the result.
+         * @param tile starting tile of the run, it is not counted
+         * @param direction direction of the run, see {@link HexGeometry}
+         * @param board bitboard of the gameboard
+         * @return number of tiles in the run, in [0, RAY_LENGTH]
          */
-        private boolean isEastRowOfFive(Tile tile, List<Tile> gameBoard) {
-            int xIndex = 1, yIndex = -1, size = gameBoard.size();
-            for (int curr = 0; curr < size && xIndex < 5; curr++) {
-                if (findMate(tile, xIndex, yIndex, 0, gameBoard)) {
-                    xIndex++;
-                    yIndex--;
-                } // no ajdacent next element => no row of five
-                else
-                    return false;
+        private int countRun(Tile tile, int direction, BitBoard board) {
+            int step = 0;
+            while (step < HexGeometry.RAY_LENGTH) {
+                int mate = HexGeometry.getRay(tile.getIndex(), direction, step);
+                if (mate == -1 || !board.isOccupied(mate, tile.getPlayer()))
+                    break;
+                step++;
             }
-            return true;
-        }
-
-        /***
-         * determines if there is a row of five tiles, with the same color.
-         * The row starts from @tile
-         * in direction south east (x = x, y = -1, z = +1).
-         * @param tile starting tile to find a row of five tiles
-         */
-        private boolean isSouthEastRowOfFive(Tile tile, List<Tile> gameBoard) {
-            int zIndex = 1, yIndex = -1, size = gameBoard.size();
-            for (int curr = 0; curr < size && zIndex < 5; curr++) {
-                if (findMate(tile, 0, yIndex, zIndex, gameBoard)) {
-                    zIndex++;
-                    yIndex--;
-                } // no ajdacent next element => no row of five
-                else
-                    return false;
-            }
-            return true;
+            return step;
         }
 
-
         /**
-         * determines if there is a row of five tiles, with the same color.
-         * The row starts from @tile
-         * in direction south west (x = -1, y = y, z = +1).
-         * @param tile starting tile to find a row of five tiles
+         * determines if lastMove is part of a row of five tiles, with the same color.
+         * Only the three lines which pass through lastMove are checked, so the cost
+         * does not depend on the number of tiles in the gameboard.
+         * @param lastMove last placed tile
+         * @param board bitboard of the gameboard
+         * @return true if there are at least five tiles of the same color in a row,
+         * false otherwise
          */
-        private boolean isSouthWestRowOfFive(Tile tile, List<Tile> gameBoard) {
-            int xIndex = -1, zIndex = 1, size = gameBoard.size();
-            for (int curr = 0; curr < size && zIndex < 5; curr++) {
-                if (findMate(tile, xIndex, 0, zIndex, gameBoard)) {
-                    xIndex--;
-                    zIndex++;
-                } // no ajdacent next element => no row of five
-                else
-                    return false;
+        private boolean isRowWin(Tile lastMove, BitBoard board) {
+            // directions 0, 1, 2 and their opposites cover the three lines
+            for (int direction = 0; direction < HexGeometry.DIRECTIONS / 2; direction++) {
+                if (1 + countRun(lastMove, direction, board) +
+                        countRun(lastMove, HexGeometry.opposite(direction), board) >= 5)
+                    return true;
             }
-            return true;
+            return false;
         }
 
-
         /**
-         * determines if there is a row of five tiles, with the same color.
-         * The row starts from @tile
-         * in direction west (x = -1, y = 1, z = z).
-         * @param tile starting tile to find a row of five tiles
+         * determines if lastMove has enclosed one of the groups of the
+         * opposite player. Only a group next to lastMove can lose its last
+         * empty neighbour, so it checks six neighbours at most.
+         * @param lastMove last placed tile
+         * @param board bitboard of the gameboard
+         * @param groups connected groups of the gameboard
+         * @return true if a group next to lastMove is enclosed, false otherwise
          */
-        private boolean isWestRowOfFive(Tile tile, List<Tile> gameBoard) {
-            int xIndex = -1, yIndex = 1, size = gameBoard.size();
-            for (int curr = 0; curr < size && yIndex < 5; curr++) {
-                if (findMate(tile, xIndex, yIndex, 0, gameBoard)) {
-                    xIndex--;
-                    yIndex++;
-                } // no ajdacent next element => no row of five
-                else
-                    return false;
+        private boolean isEnclosureWin(Tile lastMove, BitBoard board, GroupTracker groups) {
+            for (int direction = 0; direction < HexGeometry.DIRECTIONS; direction++) {
+                int neighbour = HexGeometry.getNeighbour(lastMove.getIndex(), direction);
+                if (neighbour != -1 && board.isOccupied(neighbour, lastMove.getPlayer() ^ 1)
+                        && groups.isEnclosed(neighbour))
+                    return true;
             }
-            return true;
+            return false;
         }
 
-
         /**
-         * determines if there is a row of five tiles, with the same color.
-         * The row starts from @tile
-         * in direction north west (x = 0, y = 1, z = -1).
-         * @param tile starting tile to find a row of five tiles
-         */
-        private boolean isNorthWestRowOfFive(Tile tile, List<Tile> gameBoard) {
-            int zIndex = -1, yIndex = 1, size = gameBoard.size();
-            for (int curr = 0; curr < size && yIndex < 5; curr++) {
-                if (findMate(tile, 0, yIndex, zIndex, gameBoard)) {
-                    zIndex--;
-                    yIndex++;
-                } // no ajdacent next element => no row of five
-                else
-                    return false;
-            }
-            return true;
-        }
-
-
-        /**
-         * determines if there is at least one tile of the opposite player, who made
-         *  the last move, enclosed by at least 6 enemies.
-         * sets the winner, if a player has been fully enclosed.
+         * determines if there is at least one group of the opposite player, who made
+         * the last move, enclosed by the tiles of the last player.
          * @param color color of the player who made the last move
          * @return true if the opposite player has been fully enclosed, false otherwise
          */
-        private boolean isFullyEnclosed(int color, List<Tile> gameBoard) {
-            AtomicBoolean fullyEnclosed = new AtomicBoolean(false);
-            gameBoard.stream()
-                    .filter(tile -> !fullyEnclosed.get() && tile.getPlayer() != color)
-                    .forEach(tile -> {
-                        fullyEnclosed.set(setFullyEnclosed(tile, gameBoard));
-                    });
-            return fullyEnclosed.get();
-        }
-
-        /**
-         * determines if there is a tile, only of one player
-         * (different from the one who made the last move),
-         * fully enclosed. If so, returns true.
-         * @param tile tile to check if it is fully enclosed
-         */
-        private boolean setFullyEnclosed(Tile tile, List<Tile> gameBoard) {
-            return
-                    isNorthEastNeighbourEnemy(tile, gameBoard) &&
-                            isEastNeighbourEnemy(tile, gameBoard) &&
-                            isSouthEastNeighbourEnemy(tile, gameBoard) &&
-                            isSouthWestNeighbourEnemy(tile, gameBoard) &&
-                            isWestNeighbourEnemy(tile, gameBoard) &&
-                            isNorthWestNeighbourEnemy(tile, gameBoard);
+        private boolean isFullyEnclosed(int color, List<Tile> gameBoard, BitBoard board) {
+            GroupTracker groups = new AndantinoGroupTracker(board);
+            return gameBoard.stream()
+                    .anyMatch(tile -> tile.getPlayer() != color &&
+                            groups.isEnclosed(tile.getIndex()));
         }
 
         /**
@@ -290,14 +114,12 @@ public final class AndantinoSupervisor implements GameSupervisor {
          * If so, sets the flag @fiveInRow to true.
          * @param tile tile to check if it is in a row of 5
          */
-        private boolean setFiveInRow(Tile tile, List<Tile> gameBoard) {
-            return
-                    isNorthEastRowOfFive(tile, gameBoard) ||
-                            isEastRowOfFive(tile, gameBoard) ||
-                            isSouthEastRowOfFive(tile, gameBoard) ||
-                            isSouthWestRowOfFive(tile, gameBoard) ||
-                            isWestRowOfFive(tile, gameBoard) ||
-                            isNorthWestRowOfFive(tile, gameBoard);
+        private boolean setFiveInRow(Tile tile, BitBoard board) {
+            for (int direction = 0; direction < HexGeometry.DIRECTIONS; direction++) {
+                if (isRowOfFive(tile, direction, board))
+                    return true;
+            }
+            return false;
         }
 
         /**
@@ -307,14 +129,10 @@ public final class AndantinoSupervisor implements GameSupervisor {
          * @param color color of the player who made the last move
          * @return true if there are five tiles of the same color in a row, false otherwise
          */
-        private boolean isRowWin (int color, List<Tile> gameBoard) {
-            AtomicBoolean fiveInRow = new AtomicBoolean(false);
-            gameBoard.stream()
-                    .filter(tile -> !fiveInRow.get() && tile.getPlayer() == color)
-                    .forEach(tile -> {
-                        fiveInRow.set(setFiveInRow(tile, gameBoard));
-                    });
-            return fiveInRow.get();
+        private boolean isRowWin (int color, List<Tile> gameBoard, BitBoard board) {
+            return gameBoard.stream()
+                    .anyMatch(tile -> tile.getPlayer() == color &&
+                            setFiveInRow(tile, board));
         }
 
         /**
@@ -327,12 +145,39 @@ public final class AndantinoSupervisor implements GameSupervisor {
 
         /**
          * determines if the last player who moved, has won.
+         * It scans the whole gameboard, see {@link #hasWon(SearchPosition)}
+         * to check only the last move.
          */
         @Override
         public Boolean hasWon(int color, List<Tile> gameBoard) {
-            return gameBoard.size() >= 9 && (
-                    isRowWin(color, gameBoard) ||
-                            isFullyEnclosed(color, gameBoard)
-            );
+            if (gameBoard.size() < 9)
+                return false;
+            BitBoard board = new AndantinoBitBoard(gameBoard);
+            return isRowWin(color, gameBoard, board) ||
+                            isFullyEnclosed(color, gameBoard, board);
+        }
+
+        /**
+         * determines if the last move of position has won the game.
+         * A new row of five can only pass through the last placed tile and
+         * a new enclosed group can only be next to it, so it checks three
+         * lines and six groups at most. Also, the previous move could have
+         * placed a tile of the opposite player in a position which was already
+         * enclosed, so it checks the group of that tile too.
+         * It assumes that the game was not over before the last move.
+         * @param position position of the game, the last tile is the last move
+         * @return true if the player who made the last move has won, false otherwise
+         */
+        @Override
+        public boolean hasWon(SearchPosition position) {
+            if (position.size() < 9)
+                return false;
+            List<Tile> tiles = position.getTiles();
+            Tile lastMove = tiles.get(tiles.size() - 1);
+            Tile previousMove = tiles.get(tiles.size() - 2);
+            BitBoard board = position.getBitBoard();
+            GroupTracker groups = position.getGroups();
+            return isRowWin(lastMove, board) || isEnclosureWin(lastMove, board, groups) ||
+                    groups.isEnclosed(previousMove.getIndex());
         }
 }
@@ -1,6 +1,7 @@
 package Model.Supervisor;
 
 import java.util.List;
+import Model.SearchGameTree.SearchPosition;
 import Model.Tile;
 
 /**
@@ -13,15 +14,5 @@ public interface GameSupervisor {
 
     Boolean hasWon(int color, List<Tile> gameBoard);
 
-    boolean isNorthEastNeighbourEnemy(Tile tile, List<Tile> gameBoard);
-
-    boolean isEastNeighbourEnemy(Tile tile, List<Tile> gameBoard);
-
-    boolean isSouthEastNeighbourEnemy(Tile tile, List<Tile> gameBoard);
-
-    boolean isSouthWestNeighbourEnemy(Tile tile, List<Tile> gameBoard);
-
-    boolean isWestNeighbourEnemy(Tile tile, List<Tile> gameBoard);
-
-    boolean isNorthWestNeighbourEnemy(Tile tile, List<Tile> gameBoard);
+    boolean hasWon(SearchPosition position);
 }
\ No newline at end of file
@@ -10,7 +10,7 @@ public final class AndantinoEntryInfo implements EntryInfo {
     /**
      * hash key of a position.
      */
-    private long key;
+    private final long key;
     /**
      * type of the node, determines the type of score.
      * It assumes the following values:
@@ -21,22 +21,28 @@ public final class AndantinoEntryInfo implements EntryInfo {
      * </ul>
      * @see <a href="https://www.chessprogramming.org/Node_Types">node types explanation</a>
      */
-    private Boolean nodeType;
+    private final Boolean nodeType;
     /**
      * determines the depth of the investigation of a previously found
      * position.
      */
-    private int depth;
+    private final int depth;
     /**
      * value of the best move in the position (used to determine the
      * value of a position).
      */
-    private int score;
+    private final int score;
 
     /**
      * best move of for the position (used for move ordering).
      */
-    private Tile bestMove;
+    private final Tile bestMove;
+
+    /**
+     * search in which the entry was stored, see
+     * {@link AndantinoTranspositionTable#newSearch()}.
+     */
+    private final int generation;
 
     /**
      * Construct an entry for the Andantino transposition table.
@@ -47,29 +53,42 @@ public final class AndantinoEntryInfo implements EntryInfo {
      * @param bestMove best move for the current node
      */
     public AndantinoEntryInfo(long key, Boolean nodeType, int depth, int score, Tile bestMove) {
+        this(key, nodeType, depth, score, bestMove, 0);
+    }
+
+    /**
+     * Construct an entry stored by the specified search.
+     * @param key hash key of the table
+     * @param nodeType type of the node
+     * @param depth search depth where the node has been found
+     * @param score score associated with a node
+     * @param bestMove best move for the current node
+     * @param generation search in which the entry is stored
+     */
+    AndantinoEntryInfo(long key, Boolean nodeType, int depth, int score, Tile bestMove, int generation) {
         this.key = key;
         this.nodeType = nodeType;
         this.depth = depth;
         this.score = score;
         this.bestMove = bestMove;
+        this.generation = generation;
     }
 
     /**
-     * gets the score of this entry.
-     * @return score of the entry
+     * gets the search in which this entry was stored.
+     * @return generation of the table when the entry was stored
      */
-    @Override
-    public int getScore() {
-        return score;
+    int getGeneration() {
+        return generation;
     }
 
     /**
-     * sets the score of this entry.
-     * @param score new value of score
+     * gets the score of this entry.
+     * @return score of the entry
      */
     @Override
-    public void setScore(int score) {
-        this.score = score;
+    public int getScore() {
+        return score;
     }
 
     /**
@@ -78,16 +97,7 @@ public final class AndantinoEntryInfo implements EntryInfo {
      */
     @Override
     public boolean isExactValue() {
-        return nodeType == true;
-    }
-
-    /**
-     * sets the node's type of this entry.
-     * @param nodeType new value of nodeType
-     */
-    @Override
-    public void setNodeType(Boolean nodeType) {
-        this.nodeType = nodeType;
+        return Boolean.TRUE.equals(nodeType);
     }
 
     /**
@@ -99,15 +109,6 @@ public final class AndantinoEntryInfo implements EntryInfo {
         return depth;
     }
 
-    /**
-     * sets the depth of this entry.
-     * @param depth new value of depth
-     */
-    @Override
-    public void setDepth(int depth) {
-        this.depth = depth;
-    }
-
     /**
      * gets the best move of this entry.
      * @return tile, which represents the best move
@@ -117,22 +118,13 @@ public final class AndantinoEntryInfo implements EntryInfo {
         return bestMove;
     }
 
-    /**
-     * sets the best move of this entry.
-     * @param move new value of bestMove
-     */
-    @Override
-    public void setBestMove(Tile move) {
-        bestMove = move;
-    }
-
     /**
      * checks if the position's score is a lower bound.
      * @return true if it is a lower bound, false otherwise
      */
     @Override
     public boolean isLowerBound() {
-        return nodeType == false;
+        return Boolean.FALSE.equals(nodeType);
     }
 
     /**
@@ -0,0 +1,147 @@
+package Model.TranspositionTables;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * cache of the evaluations of the Andantino positions.
+ * It has a fixed number of entries (a power of two) and the entry of a
+ * position is given by the low bits of its Zobrist key. Each entry is made
+ * of two longs, kept in two arrays:
+ * <ul>
+ *     <li>data: the score of the position;</li>
+ *     <li>check: the xor between the key and data.</li>
+ * </ul>
+ * So, an entry is valid only if check xor data is equal to the key of the
+ * position. This means that the cache does not need locks: if two threads
+ * write the same entry at the same time, the entry is not valid and it is
+ * seen as a miss. In case of collision, it always replaces.
+ * @see <a href="https://www.chessprogramming.org/Shared_Hash_Table#Lock-less">Lock-less hashing</a>
+ */
+public final class AndantinoEvaluationCache implements EvaluationCache {
+    /**
+     * number of entries of the default cache (2^16).
+     */
+    public static final int DEFAULT_BITS = 16;
+
+    /**
+     * scores of the entries.
+     */
+    private final long[] data;
+
+    /**
+     * keys of the entries, xored with data.
+     */
+    private final long[] check;
+
+    /**
+     * mask to get the entry from a key.
+     */
+    private final int mask;
+
+    /**
+     * number of successful and failed lookups.
+     */
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    /**
+     * constructs a cache with 2^DEFAULT_BITS entries.
+     */
+    public AndantinoEvaluationCache() {
+        this(DEFAULT_BITS);
+    }
+
+    /**
+     * constructs a cache with 2^bits entries.
+     * @param bits number of bits of the key used to address an entry
+     */
+    public AndantinoEvaluationCache(int bits) {
+        if (bits < 0 || bits > 30)
+            throw new IllegalArgumentException("bits must be in [0, 30]");
+        data = new long[1 << bits];
+        check = new long[1 << bits];
+        mask = (1 << bits) - 1;
+        hits = new LongAdder();
+        misses = new LongAdder();
+        clear();
+    }
+
+    /**
+     * retrieves the score of a position.
+     * @param key Zobrist key of the position
+     * @return score of the position, MISSING if the cache does not contain it
+     */
+    @Override
+    public int retrieve(long key) {
+        int entry = (int) key & mask;
+        long score = data[entry];
+        if ((check[entry] ^ score) != key || score == MISSING) {
+            misses.increment();
+            return MISSING;
+        }
+        hits.increment();
+        return (int) score;
+    }
+
+    /**
+     * stores the score of a position.
+     * @param key Zobrist key of the position
+     * @param score score of the position
+     */
+    @Override
+    public void store(long key, int score) {
+        int entry = (int) key & mask;
+        data[entry] = score;
+        check[entry] = key ^ score;
+    }
+
+    /**
+     * gets the number of entries.
+     * @return size of the cache
+     */
+    @Override
+    public int size() {
+        return data.length;
+    }
+
+    /**
+     * gets the number of lookups which found the position.
+     * @return number of hits
+     */
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * gets the number of lookups which did not find the position.
+     * @return number of misses
+     */
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * gets the rate of the lookups which found the position.
+     * @return hits / (hits + misses), 0 if there are no lookups
+     */
+    @Override
+    public double getHitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    /**
+     * removes all the entries and resets the counters.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(data, MISSING);
+        Arrays.fill(check, 0L);
+        hits.reset();
+        misses.reset();
+    }
+}
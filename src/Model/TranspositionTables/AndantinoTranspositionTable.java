@@ -1,126 +1,155 @@
 package Model.TranspositionTables;
 
-import Model.SearchGameTree.Node;
 import Model.Tile;
 
-import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Andantino transposition table using Zobrist key as a
  * hashing algorithm.
+ * It has a fixed number of entries (a power of two) for each player, and
+ * the entries are grouped in buckets of two, given by the low bits of
+ * the Zobrist key:
+ * <ul>
+ *     <li>the first entry keeps the deepest search of the bucket, it is
+ *     replaced by a search at least as deep, by the same position, or by
+ *     any position if it was stored by a previous search;</li>
+ *     <li>the second entry always replaces, so the recent positions are
+ *     stored even when the first entry is deeper.</li>
+ * </ul>
+ * The table can be shared by several search threads. The entries are
+ * immutable, their fields are final: a store creates a new entry and
+ * replaces the old one in an atomic array, so a thread which retrieves an
+ * entry always reads all the fields of the same store. Two threads which store in the same
+ * bucket at the same time can replace a deeper entry, which only costs
+ * a search again.
  * @see <a href="https://www.chessprogramming.org/Zobrist_Hashing">Zobrist hashing</a>
+ * @see <a href="https://www.chessprogramming.org/Transposition_Table#Replacement_Strategies">Replacement strategies</a>
  */
 public final class AndantinoTranspositionTable implements TranspositionTable {
     /**
-     * transposition table, with table[i][j] where:
-     * <ul>
-     *     <li>i : index for the type of pawn (black = 0, white = 1)</li>
-     *     <li>j : hash of the xor of all tiles of a specific gameboard
-     *     configuration.</li>
-     * </ul>
+     * number of entries of the default table for each player (2^16).
      */
-    private EntryInfo table [][];
+    public static final int DEFAULT_BITS = 16;
 
     /**
-     * constructs a transposition table. table is initialized with
-     * 272 random numbers for the key of each value.
-     * This is because in Andantino we only have one type of piece,
-     * 271 positions, and two types of players. Therefore I need a table
-     * with 272 * 2 elements. This means 2^10 elements, therefore 54 bits are
-     * used for the hash key while 10 bits are used for the primary hash code.
-     * Normally, Zobrist uses table[piece][location]. The index "location"
-     * is obtained thanks to the modulus operator between the Zobrist key
-     * and the table size (136).
-     * @see <a href="https://www.chessprogramming.org/Zobrist_Hashing#Initialization">Zobrist hashing</a>
+     * entries of the positions where black (0) and white (1) made
+     * the last move.
+     */
+    private final AtomicReferenceArray<AndantinoEntryInfo> blackTable;
+    private final AtomicReferenceArray<AndantinoEntryInfo> whiteTable;
+
+    /**
+     * mask to get the first entry of a bucket from a key.
+     */
+    private final int mask;
+
+    /**
+     * number of the current search.
+     */
+    private volatile int generation;
+
+    /**
+     * constructs a transposition table with 2^DEFAULT_BITS entries for each player.
      */
     public AndantinoTranspositionTable() {
-        SplittableRandom random = new SplittableRandom();
-        table = new EntryInfo[2][272];
-        LinkedList<Long> tmpKeys = new LinkedList<>();
-        // init keys in the table with random 64-bits numbers
-        for (int piece = 0; piece < 2; piece++) {
-            for (int location = 0; location < 272; location++) {
-                                tmpKeys.add(random.nextLong(Long.MAX_VALUE));
-                //table[piece][hash(tmpKeys.getLast())] = new AndantinoEntryInfo
-                table[piece][location] = new AndantinoEntryInfo
-                                    (tmpKeys.getLast(), null, -1, 0, null);
-            }
-        }
+        this(DEFAULT_BITS);
     }
 
     /**
-     * determines the index of a position for the specified Zobrist key.
-     * @param zobristKey key to determine the index in the transposition table
-     * @return index of the table where the position is stored
+     * constructs a transposition table with 2^bits entries for each player.
+     * The keys are shared by all the tables, see {@link ZobristKeys}.
+     * @param bits number of bits of the key used to address an entry
+     * @throws IllegalArgumentException if bits is not in [1, 28]
      */
-    private int hash(long zobristKey) {
-        return (int)(zobristKey % 272);
+    public AndantinoTranspositionTable(int bits) {
+        if (bits < 1 || bits > 28)
+            throw new IllegalArgumentException("bits must be in [1, 28]");
+        blackTable = new AtomicReferenceArray<>(1 << bits);
+        whiteTable = new AtomicReferenceArray<>(1 << bits);
+        mask = (1 << bits) - 2;
     }
 
     /**
-     * helper function to store entries in the table.
-     * It stores in the table with index [color][X], where 'X'
-     * is the index of the last position placed on the gameboard
-     * (last element in the gameboard list).
-     * It assumes a gameboard with at least two elements.
-     * @param position position to store in table
-     * @param nodeType type of the node
-     * @param color index of the player to use
-     * @param depth depth at which the node was found
+     * gets the entries of a player.
+     * @param lastPlayer color of the player who made the last move
+     * @return entries of the positions where lastPlayer made the last move
      */
-    private void storeHelper(Node position, Boolean nodeType, int color, int depth) {
-        int index =  hash(hashConfiguration(position.getCurrentGameboard(), color));
-        table[color][index].setScore(position.getScore());
-        table[color][index].setNodeType(nodeType);
-        table[color][index].setBestMove(position.getPosition());
-        table[color][index].setDepth(depth);
+    private AtomicReferenceArray<AndantinoEntryInfo> getTable(int lastPlayer) {
+        return lastPlayer == 0 ? blackTable : whiteTable;
     }
 
     /**
-     * determines the hash for the configuration associated with gameboard.
-     * It does so by xoring all elements in gameboard.
-     * It assumes a gameboard with at least two elements.
-     * @param gameBoard gameboard representation
-     * @param color index of the player (0: black, 1: white)
-     * @return hashkey of all elements in gameboard except for the last one
+     * determines the first entry of the bucket of a Zobrist key.
+     * @param zobristKey key to determine the index in the transposition table
+     * @return index of the first entry of the bucket
      */
-    private long hashConfiguration(List<Tile> gameBoard, int color) {
-            // iterate from the second last to the first element and xor their value
-            ListIterator<Tile> it = gameBoard.listIterator(gameBoard.size() - 1);
-            long res = table[color][it.previous().getIndex()].getKey();
-                while (it.hasPrevious()) {
-                    res ^= table[color][it.previous().getIndex()].getKey();
-                }
-                return res;
+    private int hash(long zobristKey) {
+        return (int) zobristKey & mask;
     }
 
     /**
      * retrieves the entry with the best move, associated with the
      * current configuration, from the table.
-     * @param position position associated with the table, where to find the value
-     * @param depth depth of the position associated with index
-     * @param color indicates the owner of the position (0: player2, 1: player1).
-     * @return entry of the table with the specified index
+     * @param key Zobrist key of the position to find in the table
+     * @param lastPlayer color of the player who made the last move
+     * @return entry of the table for the position, null if the table does not
+     * contain the position
      */
     @Override
-    public EntryInfo retrieve(Node position, int depth, int color) {
-        int index =  hash(hashConfiguration(position.getCurrentGameboard(), color));
-        return table[color][index];
+    public EntryInfo retrieve(long key, int lastPlayer) {
+        AtomicReferenceArray<AndantinoEntryInfo> table = getTable(lastPlayer);
+        int bucket = hash(key);
+        for (int i = bucket; i < bucket + 2; i++) {
+            EntryInfo entry = table.get(i);
+            if (entry != null && entry.getKey() == key && entry.getBestMove() != null)
+                return entry;
+        }
+        return null;
     }
 
     /**
-     * stores a position in the table. It stores the last tile
-     * in position in the table. In the entry associated with the
-     * index with the second last element in position.
-     * In case of collision, it always replaces.
-     * @param position position to store in table
-     * @param depth depth at which the node was found
+     * stores the best move of a position in the table.
+     * The deepest entry of the bucket is replaced only by a search at
+     * least as deep, by the same position or if it is old, otherwise
+     * the position replaces the other entry of the bucket.
+     * The entry is replaced as a whole, so concurrent stores never mix their fields.
+     * @param key Zobrist key of the position to store in table
+     * @param lastPlayer color of the player who made the last move
+     * @param depth depth at which the position was searched
+     * @param score score of the position
+     * @param bestMove best move found for the position
      * @param nodeType type of the node
      */
     @Override
-    public void store(Node position, int depth, Boolean nodeType) {
-        if(position.getGameBoardSize() >= 2) {
-            storeHelper(position, nodeType, position.getBeforeLastPlayer(), depth);
-        }
+    public void store(long key, int lastPlayer, int depth, int score, Tile bestMove, Boolean nodeType) {
+        AtomicReferenceArray<AndantinoEntryInfo> table = getTable(lastPlayer);
+        int current = generation;
+        AndantinoEntryInfo entry = new AndantinoEntryInfo(key, nodeType, depth, score, bestMove, current);
+        int bucket = hash(key);
+        AndantinoEntryInfo deepest = table.get(bucket);
+        if (deepest == null || deepest.getKey() == key || deepest.getDepth() <= depth
+                || deepest.getGeneration() != current)
+            table.set(bucket, entry);
+        else
+            table.set(bucket + 1, entry);
+    }
+
+    /**
+     * starts a new search: the entries of the previous searches are kept,
+     * but they do not prevent the replacement of the deepest entries.
+     */
+    @Override
+    public void newSearch() {
+        generation++;
+    }
+
+    /**
+     * gets the number of entries of the table.
+     * @return number of entries for each player
+     */
+    @Override
+    public int size() {
+        return blackTable.length();
     }
 }
@@ -0,0 +1,20 @@
+package Model.TranspositionTables;
+
+/**
+ * cache of the evaluations of the positions. The positions are addressed
+ * by their Zobrist key, see {@link ZobristKeys}.
+ */
+public interface EvaluationCache {
+    /**
+     * value returned by {@link #retrieve(long)} if the key is not in the cache.
+     */
+    int MISSING = Integer.MIN_VALUE;
+
+    int retrieve(long key);
+    void store(long key, int score);
+    int size();
+    long getHits();
+    long getMisses();
+    double getHitRate();
+    void clear();
+}
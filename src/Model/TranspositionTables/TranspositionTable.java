@@ -1,11 +1,14 @@
 package Model.TranspositionTables;
 
-import Model.SearchGameTree.Node;
+import Model.Tile;
 
 /**
- * transposition table for a game.
+ * transposition table for a game. The positions are addressed by
+ * their Zobrist key, see {@link ZobristKeys}.
  */
 public interface TranspositionTable {
-    EntryInfo retrieve(Node position, int depth, int color);
-    void store(Node position, int depth, Boolean nodeType);
+    EntryInfo retrieve(long key, int lastPlayer);
+    void store(long key, int lastPlayer, int depth, int score, Tile bestMove, Boolean nodeType);
+    void newSearch();
+    int size();
 }
@@ -0,0 +1,64 @@
+package Model.TranspositionTables;
+
+import Model.HexGeometry;
+import Model.Tile;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys of the Andantino gameboard.
+ * In Andantino we only have one type of piece, 271 positions and two
+ * players, therefore the table has 271 * 2 random numbers.
+ * The key of a configuration is the xor of the keys of all its tiles,
+ * so it can be updated with a single xor when a tile is placed or removed.
+ * The keys are generated once, with a fixed seed, so they are shared
+ * by all the bots and the key of a configuration never changes.
+ * @see <a href="https://www.chessprogramming.org/Zobrist_Hashing">Zobrist hashing</a>
+ */
+public final class ZobristKeys {
+    /**
+     * seed of the random numbers.
+     */
+    public static final long SEED = 0x5DEECE66DL;
+
+    /**
+     * Zobrist keys, with keys[piece][location], where piece is the
+     * color of the player (black = 0, white = 1).
+     */
+    private static final long[][] keys = new long[2][HexGeometry.SIZE];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        // init keys with random non-negative 64-bits numbers
+        for (int piece = 0; piece < 2; piece++) {
+            for (int location = 0; location < HexGeometry.SIZE; location++)
+                keys[piece][location] = random.nextLong(Long.MAX_VALUE);
+        }
+    }
+
+    private ZobristKeys() {}
+
+    /**
+     * gets the key of a tile.
+     * @param index index of the position
+     * @param color color of the player
+     * @return Zobrist key of the tile
+     */
+    public static long getKey(int index, int color) {
+        return keys[color][index];
+    }
+
+    /**
+     * determines the key for the configuration associated with gameboard.
+     * It does so by xoring the keys of all elements in gameboard.
+     * @param gameBoard gameboard representation
+     * @return Zobrist key of all elements in gameboard
+     */
+    public static long hashConfiguration(List<Tile> gameBoard) {
+        long res = 0;
+        for (Tile tile : gameBoard)
+            res ^= keys[tile.getPlayer()][tile.getIndex()];
+        return res;
+    }
+}
@@ -0,0 +1,239 @@
+package Tests.Model;
+
+import Model.Expert.*;
+import Model.HexGeometry;
+import Model.HexTile;
+import Model.SearchGameTree.AndantinoSearchPosition;
+import Model.SearchGameTree.SearchPosition;
+import Model.Tile;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AndantinoEvaluatorTest {
+
+    @BeforeAll
+    static void setUp() {
+        System.out.println("### tests Model - evaluator ###");
+    }
+
+    @Test
+    @DisplayName("same score of the experts")
+    void evaluate() {
+        WinExpert win = new WinExpert();
+        LossExpert loss = new LossExpert();
+        RandomExpert random = new RandomExpert();
+        BridgeExpert bridge = new BridgeExpert();
+        LineWindowExpert line = new LineWindowExpert();
+        random.setWeight(0); // deterministic scores
+        Expert[] experts = { win, loss, random, bridge, line };
+        Evaluator evaluator = new AndantinoEvaluator(win, loss, random, bridge, line);
+        Random generator = new Random(42);
+        int[] moves = new int[HexGeometry.SIZE];
+        for (int game = 0; game < 50; game++) {
+            List<Tile> gameBoard = new ArrayList<>();
+            gameBoard.add(new HexTile(0, 0, 0, 0));
+            SearchPosition position = new AndantinoSearchPosition(gameBoard);
+            for (int turn = 0; turn < 120; turn++) {
+                int size = position.getLegalMoves(moves);
+                if (size == 0)
+                    break;
+                position.makeMove(moves[generator.nextInt(size)]);
+                int expected = 0;
+                for (Expert expert : experts)
+                    expected += expert.getWeight(position);
+                assertEquals(line.getWeight(position.getTiles()), line.getWeight(position),
+                        "incremental windows, game " + game + ", turn " + turn);
+                assertEquals(expected, evaluator.evaluate(position),
+                        "game " + game + ", turn " + turn);
+                if (win.getWeight(position) != 0)
+                    break;
+            }
+            // undo the game, the windows must go back to the center only
+            while (position.size() > 1)
+                position.unmakeMove();
+            assertEquals(line.getWeight(position.getTiles()), line.getWeight(position), "undo");
+        }
+    }
+
+    @Test
+    @DisplayName("weights of the experts are applied")
+    void weights() {
+        List<Tile> mock = new ArrayList<>();
+        mock.add(new HexTile(0, 0, 0, 0));
+        mock.add(new HexTile(-1, 0, 1, 1));
+        mock.add(new HexTile(0, -1, 1, 0));
+        mock.add(new HexTile(1, -1, 0, 1));
+        mock.add(new HexTile(-1, -1, 2, 0));
+        mock.add(new HexTile(0, -2, 2, 1));
+        mock.add(new HexTile(-1, 1, 0, 0));
+        mock.add(new HexTile(-2, 1, 1, 1));
+        mock.add(new HexTile(-2, 2, 0, 0));
+        mock.add(new HexTile(-3, 2, 1, 1));
+        WinExpert win = new WinExpert();
+        LossExpert loss = new LossExpert();
+        RandomExpert random = new RandomExpert();
+        BridgeExpert bridge = new BridgeExpert();
+        LineWindowExpert line = new LineWindowExpert();
+        random.setWeight(0);
+        line.setWeight(0);
+        Evaluator evaluator = new AndantinoEvaluator(win, loss, random, bridge, line);
+        SearchPosition position = new AndantinoSearchPosition(mock);
+        // no win, one bridge (see BridgeExpertTest)
+        assertEquals(loss.getWeight() + bridge.getWeight(), evaluator.evaluate(position));
+        bridge.setWeight(10);
+        loss.setWeight(-7);
+        assertEquals(-7 + 10, evaluator.evaluate(position), "new weights");
+    }
+
+    @Test
+    @DisplayName("accumulated features in debug mode")
+    void accumulator() {
+        WinExpert win = new WinExpert();
+        LossExpert loss = new LossExpert();
+        RandomExpert random = new RandomExpert();
+        BridgeExpert bridge = new BridgeExpert();
+        LineWindowExpert line = new LineWindowExpert();
+        random.setWeight(0);
+        Evaluator evaluator = new AndantinoEvaluator(win, loss, random, bridge, line);
+        evaluator.setDebug(true); // throws if the accumulator is wrong
+        List<IncrementalExpert> incremental = new ArrayList<>();
+        incremental.add(bridge);
+        EvaluationAccumulator accumulator = new AndantinoEvaluationAccumulator(incremental);
+        Random generator = new Random(7);
+        int[] moves = new int[HexGeometry.SIZE];
+        for (int game = 0; game < 50; game++) {
+            List<Tile> gameBoard = new ArrayList<>();
+            gameBoard.add(new HexTile(0, 0, 0, 0));
+            SearchPosition position = new AndantinoSearchPosition(gameBoard, accumulator);
+            SearchPosition plain = new AndantinoSearchPosition(gameBoard);
+            for (int turn = 0; turn < 150; turn++) {
+                if (position.size() > 1 && generator.nextInt(4) == 0) {
+                    position.unmakeMove();
+                    plain.unmakeMove();
+                } else {
+                    int size = position.getLegalMoves(moves);
+                    if (size == 0)
+                        break;
+                    int move = moves[generator.nextInt(size)];
+                    position.makeMove(move);
+                    plain.makeMove(move);
+                }
+                if (position.size() > 1)
+                    assertEquals(evaluator.evaluate(plain), evaluator.evaluate(position),
+                            "game " + game + ", turn " + turn);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("lazy evaluation gives bounds outside the window")
+    void lazy() {
+        WinExpert win = new WinExpert();
+        LossExpert loss = new LossExpert();
+        RandomExpert random = new RandomExpert(5);
+        BridgeExpert bridge = new BridgeExpert();
+        LineWindowExpert line = new LineWindowExpert();
+        Evaluator evaluator = new AndantinoEvaluator(win, loss, random, bridge, line);
+        Random generator = new Random(9);
+        int[] moves = new int[HexGeometry.SIZE];
+        for (int game = 0; game < 50; game++) {
+            List<Tile> gameBoard = new ArrayList<>();
+            gameBoard.add(new HexTile(0, 0, 0, 0));
+            SearchPosition position = new AndantinoSearchPosition(gameBoard);
+            for (int turn = 0; turn < 60; turn++) {
+                int size = position.getLegalMoves(moves);
+                position.makeMove(moves[generator.nextInt(size)]);
+                int score = evaluator.evaluate(position);
+                assertTrue(evaluator.isExact(), "full window");
+                int lower = score + generator.nextInt(121) - 60;
+                int upper = lower + 1 + generator.nextInt(10);
+                int lazy = evaluator.evaluate(position, lower, upper);
+                if (evaluator.isExact())
+                    assertEquals(score, lazy, "exact, game " + game + ", turn " + turn);
+                else if (lazy <= lower)
+                    assertTrue(score <= lazy, "upper bound, game " + game + ", turn " + turn);
+                else
+                    assertTrue(lazy >= upper && score >= lazy, "lower bound, game " + game + ", turn " + turn);
+            }
+        }
+        assertEquals(0, evaluator.getSkipped(AndantinoEvaluator.FEATURES_STAGE), "first stage");
+        assertTrue(evaluator.getSkipped(AndantinoEvaluator.WIN_STAGE) > 0, "skipped win checks");
+        evaluator.resetCounters();
+        assertEquals(0, evaluator.getEvaluations(), "reset");
+    }
+
+    @Test
+    @DisplayName("lazy evaluation skips the win check outside the window")
+    void skipWin() {
+        List<Tile> mock = new ArrayList<>();
+        mock.add(new HexTile(0, 0, 0, 0));
+        // white makes an open four, black plays away from it
+        mock.add(new HexTile(1, -1, 0, 1));
+        mock.add(new HexTile(-2, 0, 2, 0));
+        mock.add(new HexTile(2, -2, 0, 1));
+        mock.add(new HexTile(0, 2, -2, 0));
+        mock.add(new HexTile(3, -3, 0, 1));
+        mock.add(new HexTile(-2, 2, 0, 0));
+        mock.add(new HexTile(4, -4, 0, 1));
+        WinExpert win = new WinExpert();
+        LossExpert loss = new LossExpert();
+        RandomExpert random = new RandomExpert(5);
+        BridgeExpert bridge = new BridgeExpert();
+        LineWindowExpert line = new LineWindowExpert();
+        Evaluator evaluator = new AndantinoEvaluator(win, loss, random, bridge, line);
+        SearchPosition position = new AndantinoSearchPosition(mock);
+        int score = evaluator.evaluate(position);
+        evaluator.resetCounters();
+        // the win check can move the score by the win and the loss weights only
+        int margin = Math.max(Math.abs(win.getWeight()), Math.abs(loss.getWeight()));
+        int lower = score + 2 * margin;
+        int bound = evaluator.evaluate(position, lower, lower + 1);
+        assertFalse(evaluator.isExact(), "upper bound");
+        assertTrue(score <= bound && bound <= lower, "upper bound below the window");
+        int upper = score - 2 * margin;
+        bound = evaluator.evaluate(position, upper - 1, upper);
+        assertFalse(evaluator.isExact(), "lower bound");
+        assertTrue(upper <= bound && bound <= score, "lower bound above the window");
+        assertEquals(2, evaluator.getSkipped(AndantinoEvaluator.WIN_STAGE), "win checks skipped");
+        assertEquals(score, evaluator.evaluate(position, score - 1, score + 1), "exact in the window");
+        assertTrue(evaluator.isExact(), "exact");
+    }
+
+    @Test
+    @DisplayName("random feature depends on the position and the seed")
+    void randomFeature() {
+        RandomExpert random = new RandomExpert(11);
+        RandomExpert same = new RandomExpert(11);
+        RandomExpert other = new RandomExpert(12);
+        Random generator = new Random(3);
+        int[] moves = new int[HexGeometry.SIZE];
+        List<Tile> gameBoard = new ArrayList<>();
+        gameBoard.add(new HexTile(0, 0, 0, 0));
+        SearchPosition position = new AndantinoSearchPosition(gameBoard);
+        int differences = 0;
+        for (int turn = 0; turn < 100; turn++) {
+            int size = position.getLegalMoves(moves);
+            position.makeMove(moves[generator.nextInt(size)]);
+            int score = random.getWeight(position);
+            assertTrue(score >= -random.getWeight() && score <= random.getWeight(), "range");
+            assertEquals(score, random.getWeight(position), "same position, turn " + turn);
+            assertEquals(score, same.getWeight(position), "same seed, turn " + turn);
+            assertEquals(score, random.getWeight(position.getTiles()), "gameboard, turn " + turn);
+            if (score != other.getWeight(position))
+                differences++;
+        }
+        assertTrue(differences > 0, "another seed gives other scores");
+        random.setWeight(0);
+        assertEquals(0, random.getWeight(position), "no weight");
+    }
+
+    @AfterAll
+    static void tear() {
+        System.out.println("### executed all ###");
+    }
+}
@@ -122,6 +122,39 @@ class AndantinoGameBoardTest {
 
 
 
+    @Test
+    @DisplayName("test - legal moves after move and undo")
+    void getLegalMovesUndo() {
+        AndantinoGameBoard board = new AndantinoGameBoard();
+        board.move(new HexTile(-1, 0, 1, 1));
+        board.move(new HexTile(0, -1, 1, 0));
+        board.move(new HexTile(1, -1, 0, 1));
+        List<Integer> before = new ArrayList<>();
+        for (Tile t : board.getLegalMoves())
+            before.add(t.getIndex());
+        board.move(new HexTile(-1, -1, 2, 0));
+        board.undo();
+        List<Tile> result = board.getLegalMoves();
+        assertEquals(before.size(), result.size(), "must be the same size");
+        for (Tile t : result) {
+            if(before.stream().noneMatch(index -> index == t.getIndex()))
+                fail();
+            assertEquals(0, t.getPlayer(), "black has the turn");
+        }
+    }
+
+    @Test
+    @DisplayName("test - a tile out of the gameboard is illegal")
+    void moveOutOfBounds() {
+        AndantinoGameBoard board = new AndantinoGameBoard();
+        assertTrue(board.isMoveIllegal(new HexTile(10, -10, 0, 0)), "out of the first move");
+        board.move(new HexTile(-1, 0, 1, 1));
+        board.move(new HexTile(0, -1, 1, 0));
+        assertTrue(board.isMoveIllegal(new HexTile(10, -10, 0, 1)), "out of the gameboard");
+        assertTrue(board.isMoveIllegal(new HexTile(-10, 5, 5, 1)), "out of the gameboard");
+        assertFalse(board.isMoveIllegal(new HexTile(-1, -1, 2, 1)), "next to two tiles");
+    }
+
     @Test
     @DisplayName("test - generate first move")
     void getFirstMove() {
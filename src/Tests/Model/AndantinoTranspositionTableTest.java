@@ -1,12 +1,15 @@
 package Tests.Model;
 
 import Model.HexTile;
-import Model.SearchGameTree.AndantinoNode;
-import Model.SearchGameTree.Node;
+import Model.SearchGameTree.AndantinoSearchPosition;
+import Model.SearchGameTree.SearchPosition;
 import Model.Tile;
+import Model.TranspositionTables.AndantinoEvaluationCache;
 import Model.TranspositionTables.AndantinoTranspositionTable;
 import Model.TranspositionTables.EntryInfo;
+import Model.TranspositionTables.EvaluationCache;
 import Model.TranspositionTables.TranspositionTable;
+import Model.TranspositionTables.ZobristKeys;
 import org.junit.jupiter.api.*;
 
 import java.util.ArrayList;
@@ -19,8 +22,7 @@ public class AndantinoTranspositionTableTest {
     TranspositionTable table;
     List<Tile> tiles;
     Tile last;
-    Node node;
-    Node n;
+    SearchPosition n;
 
     public AndantinoTranspositionTableTest() {
         table = new AndantinoTranspositionTable();
@@ -30,9 +32,7 @@ public class AndantinoTranspositionTableTest {
         tiles.add(new HexTile(-1, 0, 1, 0));
         tiles.add(new HexTile(-2, 2, 0, 0));
         last = new HexTile(-2, 1, 1, 1);
-        n = new AndantinoNode(new ArrayList<>(tiles),null);
-        tiles.add(last);
-        node = new AndantinoNode(tiles, n);
+        n = new AndantinoSearchPosition(tiles);
     }
 
     @BeforeAll
@@ -43,14 +43,66 @@ public class AndantinoTranspositionTableTest {
     @Test
     @DisplayName("store in TT")
     public void store() {
-        table.store(node,5,null);
-        EntryInfo entry = table.retrieve(n, 5, n.getLastPlayer());
-        assertEquals(node.getBeforeLastIndex(),n.getLastIndex(), "the last tile in" +
+        table.store(n.getKey(), n.getLastPlayer(), 5, 0, last, null);
+        EntryInfo entry = table.retrieve(n.getKey(), n.getLastPlayer());
+        assertEquals(last.getIndex(), entry.getBestMove().getIndex(), "the last tile in" +
                 "the gameboard in 'node', it's the best move for 'n'");
+        assertTrue(entry.isUpperBound(), "stored as an upper bound");
+    }
+
+    @Test
+    @DisplayName("depth-preferred replacement")
+    public void replacement() {
+        TranspositionTable bucket = new AndantinoTranspositionTable(1); // a single bucket
+        assertEquals(2, bucket.size(), "2^1 entries");
+        bucket.store(10, 0, 5, 1, last, true);
+        bucket.store(20, 0, 3, 2, last, true);
+        assertNotNull(bucket.retrieve(10, 0), "deepest entry");
+        assertNotNull(bucket.retrieve(20, 0), "always-replace entry");
+        assertNull(bucket.retrieve(10, 1), "other player");
+        bucket.store(30, 0, 2, 3, last, true);
+        assertNotNull(bucket.retrieve(10, 0), "a shallower search keeps the deepest entry");
+        assertNull(bucket.retrieve(20, 0), "replaced by a shallower search");
+        assertEquals(3, bucket.retrieve(30, 0).getScore(), "recent entry");
+        bucket.store(40, 0, 6, 4, last, true);
+        assertNull(bucket.retrieve(10, 0), "replaced by a deeper search");
+        assertEquals(6, bucket.retrieve(40, 0).getDepth(), "new deepest entry");
+        bucket.newSearch();
+        bucket.store(50, 0, 1, 5, last, true);
+        assertNull(bucket.retrieve(40, 0), "the entry of a previous search is replaced");
+        assertNotNull(bucket.retrieve(50, 0), "entry of the new search");
+        assertThrows(IllegalArgumentException.class, () -> new AndantinoTranspositionTable(0));
+    }
+
+    @Test
+    @DisplayName("incremental Zobrist key")
+    public void incrementalKey() {
+        long key = n.getKey();
+        assertEquals(ZobristKeys.hashConfiguration(tiles), key, "key of the initial tiles");
+        n.makeMove(last.getIndex());
+        assertEquals(ZobristKeys.hashConfiguration(n.getTiles()), n.getKey(), "key after a move");
+        assertNotEquals(key, n.getKey(), "the move changes the key");
+        n.unmakeMove();
+        assertEquals(key, n.getKey(), "undo restores the key");
+    }
+
+    @Test
+    @DisplayName("evaluation cache")
+    public void evaluationCache() {
+        EvaluationCache cache = new AndantinoEvaluationCache(4);
+        assertEquals(16, cache.size(), "2^4 entries");
+        assertEquals(EvaluationCache.MISSING, cache.retrieve(n.getKey()), "empty cache");
+        cache.store(n.getKey(), -17);
+        assertEquals(-17, cache.retrieve(n.getKey()), "stored score");
+        // same entry, different key
+        assertEquals(EvaluationCache.MISSING, cache.retrieve(n.getKey() ^ (1L << 40)), "collision");
+        assertEquals(1, cache.getHits(), "hits");
+        assertEquals(2, cache.getMisses(), "misses");
+        assertEquals(1.0 / 3, cache.getHitRate(), 1e-9, "hit rate");
     }
 
     @AfterAll
     static void tear() {
         System.out.println("### executed all ###");
     }
-}
\ No newline at end of file
+}
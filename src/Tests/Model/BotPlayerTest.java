@@ -2,12 +2,19 @@ package Tests.Model;
 
 import Model.AndantinoGameBoard;
 import Model.BotPlayer;
+import Model.Expert.ExpertWeights;
+import Model.HexGeometry;
 import Model.HexTile;
 import Model.SearchGameTree.AndantinoNode;
+import Model.SearchGameTree.AndantinoSearchPosition;
 import Model.SearchGameTree.Node;
+import Model.SearchGameTree.SearchPosition;
+import Model.TranspositionTables.AndantinoEvaluationCache;
 import Model.Tile;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.*;
 import org.junit.runner.RunWith;
@@ -134,6 +141,170 @@ public class BotPlayerTest {
         }
     }
 
+    @Test
+    @DisplayName("lazy SMP reaches the depth of the single-threaded search")
+    public void lazySmp() {
+        List<Tile> mock = SearchFixture.createGameBoard();
+        List<Tile> legalMoves = SearchFixture.getLegalMoves(mock);
+        for (int threads = 1; threads <= 4; threads *= 2) {
+            BotPlayer bot = SearchFixture.createBot(6);
+            bot.setThreads(threads);
+            Tile result = bot.move(mock);
+            assertTrue(legalMoves.contains(result), "legal move with " + threads + " threads");
+            assertEquals(6, bot.getCompletedDepth(), "depth reached with " + threads + " threads");
+        }
+    }
+
+    @Test
+    @DisplayName("young brothers wait reaches the depth of the serial search")
+    public void youngBrothersWait() {
+        List<Tile> mock = SearchFixture.createGameBoard();
+        List<Tile> legalMoves = SearchFixture.getLegalMoves(mock);
+        for (int threads = 2; threads <= 4; threads *= 2) {
+            BotPlayer bot = SearchFixture.createBot(6);
+            bot.setThreads(threads);
+            bot.setYoungBrothersWait(true);
+            // the split workers are reused by the next searches
+            for (int search = 0; search < 2; search++) {
+                Tile result = bot.move(mock);
+                assertTrue(legalMoves.contains(result), "legal move with " + threads + " threads");
+                assertEquals(6, bot.getCompletedDepth(), "depth reached with " + threads + " threads");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("the search is aborted at the time limit")
+    public void deadline() {
+        List<Tile> mock = SearchFixture.createGameBoard();
+        List<Tile> legalMoves = SearchFixture.getLegalMoves(mock);
+        for (int threads = 1; threads <= 2; threads++) {
+            BotPlayer bot = SearchFixture.createBot(64); // never reached in time
+            bot.setThreads(threads);
+            bot.setYoungBrothersWait(threads == 2);
+            bot.setTimeLimit(50);
+            Tile result = bot.move(mock);
+            assertTrue(legalMoves.contains(result), "legal move with " + threads + " threads");
+            assertTrue(bot.getCompletedDepth() < 64, "aborted search with " + threads + " threads");
+            // generous, the machine can be slow or busy
+            assertTrue(bot.getSearchTime() / 1000000 < 50 + 2000,
+                    "search time " + bot.getSearchTime() / 1000000 + " ms with " + threads + " threads");
+            if (threads == 1 && bot.getCompletedDepth() > 0) {
+                // the move of the last completed iteration, not of the aborted one
+                BotPlayer completed = SearchFixture.createBot(bot.getCompletedDepth());
+                assertEquals(completed.move(mock), result, "move of the completed iteration");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("aspiration windows give the score of the full window")
+    public void aspirationWindows() {
+        List<Tile> mock = SearchFixture.createGameBoard();
+        int fullScore = 0;
+        for (int width : new int[] { 0, 1, 10 }) {
+            BotPlayer bot = SearchFixture.createBot(6);
+            bot.setAspirationWidth(width);
+            // the selective search depends on the window
+            bot.setLateMoveReductions(false);
+            bot.setFutilityPruning(false);
+            bot.move(mock);
+            int reSearches = 0;
+            for (int depth = 0; depth <= 6; depth++)
+                reSearches += bot.getReSearches(depth);
+            if (width == 0) {
+                fullScore = bot.getScore();
+                assertEquals(0, reSearches, "full window");
+            }
+            assertEquals(fullScore, bot.getScore(), "score with width " + width);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new BotPlayer(1).setAspirationWidth(-1));
+    }
+
+    @Test
+    @DisplayName("late move reductions and futility pruning")
+    public void selectiveSearch() {
+        List<Tile> mock = SearchFixture.createGameBoard();
+        List<Tile> legalMoves = SearchFixture.getLegalMoves(mock);
+        long fullNodes = 0;
+        for (int mode = 0; mode < 4; mode++) {
+            boolean reductions = (mode & 1) != 0;
+            boolean futility = (mode & 2) != 0;
+            BotPlayer bot = SearchFixture.createBot(8);
+            bot.setLateMoveReductions(reductions);
+            bot.setFutilityPruning(futility);
+            Tile result = bot.move(mock);
+            assertTrue(legalMoves.contains(result), "legal move, mode " + mode);
+            assertEquals(reductions, bot.getReducedMoves() > 0, "reduced moves, mode " + mode);
+            if (!futility)
+                assertEquals(0, bot.getPrunedMoves(), "pruned moves, mode " + mode);
+            if (mode == 0)
+                fullNodes = bot.getNodes();
+            else if (mode == 1)
+                assertTrue(bot.getNodes() < fullNodes, "nodes with late move reductions");
+        }
+    }
+
+    @Test
+    @DisplayName("a late block is neither reduced nor pruned")
+    public void lateBlock() {
+        List<Tile> mock = new ArrayList<>();
+        mock.add(new HexTile(0, 0, 0, 0));
+        mock.add(new HexTile(1, -1, 0, 1));
+        mock.add(new HexTile(0, -1, 1, 0));
+        mock.add(new HexTile(1, 0, -1, 1));
+        mock.add(new HexTile(2, -1, -1, 0));
+        mock.add(new HexTile(1, -2, 1, 1));
+        mock.add(new HexTile(2, 0, -2, 0));
+        mock.add(new HexTile(1, 1, -2, 1));
+        mock.add(new HexTile(3, -1, -2, 0));
+        mock.add(new HexTile(2, -2, 0, 1));
+        mock.add(new HexTile(3, 0, -3, 0));
+        mock.add(new HexTile(2, 1, -3, 1));
+        // white has a four on x = 1, every move but the block loses
+        Tile block = new HexTile(1, 2, -3, 0);
+        SearchPosition position = new AndantinoSearchPosition(mock);
+        int[] moves = new int[HexGeometry.SIZE];
+        int size = position.getLegalMoves(moves);
+        int index = 0;
+        while (index < size && moves[index] != block.getIndex())
+            index++;
+        assertTrue(index >= 3 && index < size, "late move in the order of the frontier");
+        // the result of the game outweighs the position
+        ExpertWeights weights = new ExpertWeights();
+        weights.set(ExpertWeights.WIN, 1000);
+        weights.set(ExpertWeights.LOSS, -1000);
+        BotPlayer bot = new BotPlayer(0, AndantinoEvaluationCache.DEFAULT_BITS, weights);
+        bot.setSeed(1);
+        bot.setMaxDepth(4);
+        bot.setTimeLimit(Long.MAX_VALUE);
+        bot.setMoveOrdering(false);
+        bot.setThreatSpaceSearch(false);
+        bot.setQuiescencePlies(0);
+        bot.setLateMoveReductions(true);
+        bot.setFutilityPruning(true);
+        assertEquals(block, bot.move(mock), "the block is the only move which does not lose");
+    }
+
+    @Test
+    @DisplayName("quiescence search after the horizon")
+    public void quiescence() {
+        List<Tile> mock = SearchFixture.createGameBoard();
+        List<Tile> legalMoves = SearchFixture.getLegalMoves(mock);
+        for (int plies = 0; plies <= 6; plies += 6) {
+            BotPlayer bot = SearchFixture.createBot(4);
+            bot.setQuiescencePlies(plies);
+            Tile result = bot.move(mock);
+            assertTrue(legalMoves.contains(result), "legal move with " + plies + " plies");
+            assertEquals(plies > 0, bot.getQuiescenceNodes() > 0, "quiescence nodes");
+            long sum = 0;
+            for (Tile move : legalMoves)
+                sum += bot.getQuiescenceNodes(move);
+            assertEquals(bot.getQuiescenceNodes(), sum, "quiescence nodes of the root moves");
+        }
+        assertThrows(IllegalArgumentException.class, () -> new BotPlayer(1).setQuiescencePlies(17));
+    }
+
     /*
     /**
      * to test it you must uncomment the methods, from BotPlayer:
@@ -1,15 +1,21 @@
 package Tests.Model;
 
+import Model.AndantinoBitBoard;
+import Model.BitBoard;
 import Model.Expert.BridgeExpert;
 import Model.Expert.Expert;
+import Model.HexGeometry;
 import Model.HexTile;
+import Model.NeighbourPatterns;
 import Model.Tile;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -42,6 +48,34 @@ class BridgeExpertTest {
                 "evaluate gameboard");
     }
 
+    @Test
+    @DisplayName("neighbours packed in a mask")
+    void neighbourMask() {
+        BitBoard board = new AndantinoBitBoard();
+        Random generator = new Random(1);
+        for (int index = 0; index < HexGeometry.SIZE; index++) {
+            if (generator.nextInt(3) != 0)
+                board.place(index, generator.nextInt(2));
+        }
+        for (int index = 0; index < HexGeometry.SIZE; index++) {
+            for (int color = 0; color < 2; color++) {
+                int mask = board.getNeighbourMask(index, color);
+                for (int direction = 0; direction < HexGeometry.DIRECTIONS; direction++) {
+                    int neighbour = HexGeometry.getNeighbour(index, direction);
+                    boolean expected = neighbour != -1 && board.isOccupied(neighbour, color);
+                    assertEquals(expected, (mask & (1 << direction)) != 0,
+                            "index " + index + ", direction " + direction);
+                }
+            }
+        }
+        assertEquals(0, NeighbourPatterns.getConnected(0), "no neighbours");
+        assertEquals(2, NeighbourPatterns.getConnected(0b100001), "run around the last direction");
+        assertEquals(3, NeighbourPatterns.getConnected(0b110001), "three connected");
+        assertEquals(1, NeighbourPatterns.getConnected(0b010101), "three apart");
+        assertEquals(6, NeighbourPatterns.getConnected(NeighbourPatterns.FULL), "all");
+        assertEquals(0b000011, NeighbourPatterns.rotate(0b100001, 1), "rotation");
+    }
+
     @AfterAll
     static void tear() {
         System.out.println("### executed all ###");
@@ -0,0 +1,56 @@
+package Tests.Model;
+
+import Model.HexGeometry;
+
+/**
+ * benchmark of the closed form of the index of a tile against the previous
+ * index, see {@link HexGeometryTest}. It is a program and not a test, since
+ * the timings depend on the machine.
+ */
+public class HexGeometryBenchmark {
+
+    /**
+     * number of conversions of every cell of the gameboard.
+     */
+    private static final int ROUNDS = 20000;
+
+    public static void main(String[] args) {
+        int[] xs = new int[HexGeometry.SIZE];
+        int[] ys = new int[HexGeometry.SIZE];
+        int[] zs = new int[HexGeometry.SIZE];
+        for (int index = 0; index < HexGeometry.SIZE; index++) {
+            xs[index] = HexGeometry.getX(index);
+            ys[index] = HexGeometry.getY(index);
+            zs[index] = HexGeometry.getZ(index);
+        }
+        long sum = 0;
+        // warm up both conversions
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < HexGeometry.SIZE; i++)
+                sum += HexGeometryTest.legacyIndex(xs[i], ys[i], zs[i]) + HexGeometry.toIndex(xs[i], ys[i], zs[i]);
+        }
+        long begin = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < HexGeometry.SIZE; i++)
+                sum += HexGeometryTest.legacyIndex(xs[i], ys[i], zs[i]);
+        }
+        long legacy = System.nanoTime() - begin;
+        begin = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < HexGeometry.SIZE; i++)
+                sum += HexGeometry.toIndex(xs[i], ys[i], zs[i]);
+        }
+        long closed = System.nanoTime() - begin;
+        begin = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < HexGeometry.SIZE; i++)
+                sum += HexGeometry.getX(i) + HexGeometry.getY(i) + HexGeometry.getZ(i);
+        }
+        long inverse = System.nanoTime() - begin;
+        long conversions = (long) ROUNDS * HexGeometry.SIZE;
+        System.out.println("previous index: " + legacy / conversions + " ns per conversion");
+        System.out.println("closed form:    " + closed / conversions + " ns per conversion");
+        System.out.println("inverse:        " + inverse / conversions + " ns per conversion");
+        System.out.println("checksum:       " + sum);
+    }
+}
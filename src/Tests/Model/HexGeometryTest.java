@@ -0,0 +1,94 @@
+package Tests.Model;
+
+import Model.HexGeometry;
+import Model.HexTile;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HexGeometryTest {
+
+    @BeforeAll
+    static void setUp() {
+        System.out.println("### tests Model - hex geometry ###");
+    }
+
+    @Test
+    @DisplayName("index to axis values and back")
+    void roundTrip() {
+        for (int index = 0; index < HexGeometry.SIZE; index++) {
+            int x = HexGeometry.getX(index);
+            int y = HexGeometry.getY(index);
+            int z = HexGeometry.getZ(index);
+            assertEquals(0, x + y + z, "cube coordinates of " + index);
+            assertEquals(index, HexGeometry.toIndex(x, y, z), "closed form of " + index);
+            assertEquals(index, HexGeometry.getIndex(x, y, z), "table of " + index);
+            assertEquals(index, new HexTile(x, y, z, 0).getIndex(), "tile of " + index);
+        }
+        assertEquals(-1, HexGeometry.getIndex(10, -10, 0), "out of bounds");
+        assertEquals(-1, new HexTile(10, -10, 0, 0).getIndex(), "tile out of bounds");
+        assertEquals(-1, new HexTile(-10, 5, 5, 0).getIndex(), "tile out of bounds");
+        assertEquals(-1, new HexTile(1, 1, 1, 0).getIndex(), "not cube coordinates");
+        assertEquals(-1, HexTile.valueOf(1, 1, 1, 0).getIndex(), "not cube coordinates");
+    }
+
+    @Test
+    @DisplayName("closed form equals the previous index of the tiles")
+    void legacyIndex() {
+        for (int x = -HexGeometry.RADIUS; x <= HexGeometry.RADIUS; x++) {
+            for (int y = -HexGeometry.RADIUS; y <= HexGeometry.RADIUS; y++) {
+                int z = -x - y;
+                if (Math.abs(z) > HexGeometry.RADIUS)
+                    continue;
+                assertEquals(legacyIndex(x, y, z), HexGeometry.toIndex(x, y, z),
+                        "x: " + x + ", y: " + y + ", z: " + z);
+            }
+        }
+    }
+
+    @AfterAll
+    static void tear() {
+        System.out.println("### executed all ###");
+    }
+
+    /**
+     * index of a tile as it was computed by HexTile before the closed form.
+     */
+    static int legacyIndex(int x, int y, int z) {
+        if ((x == 0) && (y == 0) && (z == 0))
+            return 0;
+        if (x == -1 && y == 0 && z == 1)
+            return 1;
+        if (x == 0 && y == -1 && z == 1)
+            return 2;
+        if (x == 1 && y == -1 && z == 0)
+            return 3;
+        if (x == 1 && y == 0 && z == -1)
+            return 4;
+        if (x == 0 && y == 1 && z == -1)
+            return 5;
+        if (x == -1 && y == 1 && z == 0)
+            return 6;
+        int radius = (Math.abs(x) + Math.abs(y) + Math.abs(z)) / 2;
+        int inner = 0;
+        for (int i = 1; i < radius; i++)
+            inner += i * 6;
+        if (x == -radius && y == 0 && z == radius)
+            return 1 + inner;
+        if (z == radius && x >= -radius && x <= 0 && y <= 0 && y >= -radius)
+            return inner + 1 + distance(-radius, 0, radius, x, y, z);
+        if (y == -radius && x > 0 && x <= radius && z >= 0 && z < radius)
+            return inner + 1 + radius + distance(0, -radius, radius, x, y, z);
+        if (x == radius && y <= 0 && y > -radius && z < 0 && z >= -radius)
+            return inner + 1 + (radius * 2) + distance(radius, -radius, 0, x, y, z);
+        if (z == -radius && y > 0 && y <= radius && x >= 0 && x < radius)
+            return inner + 1 + (radius * 3) + distance(radius, 0, -radius, x, y, z);
+        if (y == radius && x < 0 && x >= -radius && z <= 0 && z > -radius)
+            return inner + 1 + (radius * 4) + distance(0, radius, -radius, x, y, z);
+        return inner + 1 + (radius * 5) + distance(-radius, radius, 0, x, y, z);
+    }
+
+    private static int distance(int x, int y, int z, int xx, int yy, int zz) {
+        return (Math.abs(x - xx) + Math.abs(y - yy) + Math.abs(z - zz)) / 2;
+    }
+}
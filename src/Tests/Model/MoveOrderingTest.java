@@ -0,0 +1,74 @@
+package Tests.Model;
+
+import Model.BotPlayer;
+import Model.SearchGameTree.AndantinoMoveOrdering;
+import Model.SearchGameTree.MoveOrdering;
+import Model.Tile;
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveOrderingTest {
+
+    @BeforeAll
+    static void setUp() {
+        System.out.println("### tests Model - move ordering ###");
+    }
+
+    @Test
+    @DisplayName("hash move, killer moves, then history")
+    void order() {
+        MoveOrdering ordering = new AndantinoMoveOrdering(8);
+        ordering.update(30, 2, 0, 1); // killer of ply 2, history 1
+        ordering.update(40, 2, 0, 3); // most recent killer, history 9
+        ordering.update(50, 5, 0, 2); // killer of another ply, history 4
+        ordering.update(60, 5, 1, 4); // history of the other player
+        int[] moves = { 10, 20, 30, 40, 50, 60, 70 };
+        ordering.order(moves, moves.length, 2, 0, 70);
+        assertEquals(70, moves[0], "hash move");
+        assertEquals(40, moves[1], "most recent killer");
+        assertEquals(30, moves[2], "older killer");
+        assertEquals(50, moves[3], "history");
+        assertEquals(4, ordering.getHistory(0, 50));
+        int[] rest = Arrays.copyOfRange(moves, 4, moves.length);
+        Arrays.sort(rest);
+        assertArrayEquals(new int[] { 10, 20, 60 }, rest, "same moves");
+
+        // a missing hash move is ignored
+        moves = new int[] { 10, 20, 30 };
+        ordering.order(moves, moves.length, 2, 0, 99);
+        assertArrayEquals(new int[] { 30, 20, 10 }, moves, "only the killer");
+
+        ordering.clear();
+        assertEquals(-1, ordering.getKiller(2, 0), "no killers");
+        assertEquals(2, ordering.getHistory(0, 50), "history halved");
+    }
+
+    @Test
+    @DisplayName("same score with fewer positions")
+    void nodeReduction() {
+        List<Tile> mock = SearchFixture.createGameBoard();
+        long[] nodes = new long[2];
+        int[] scores = new int[2];
+        for (int i = 0; i < 2; i++) {
+            BotPlayer bot = SearchFixture.createBot(6);
+            bot.setMoveOrdering(i == 1);
+            // the selective search depends on the order of the moves
+            bot.setLateMoveReductions(false);
+            bot.setFutilityPruning(false);
+            bot.move(mock);
+            nodes[i] = bot.getNodes();
+            scores[i] = bot.getScore();
+        }
+        assertEquals(scores[0], scores[1], "score");
+        assertTrue(nodes[1] < nodes[0], "nodes");
+    }
+
+    @AfterAll
+    static void tear() {
+        System.out.println("### executed all ###");
+    }
+}
@@ -0,0 +1,48 @@
+package Tests.Model;
+
+import Model.BotPlayer;
+import Model.HexTile;
+import Model.Tile;
+
+import java.util.List;
+
+/**
+ * benchmark of the multi-threaded search: the nodes per second and the
+ * time to depth of Lazy SMP and of Young Brothers Wait, for 1, 2 and 4
+ * threads. It is a program and not a test, since the timings depend on
+ * the machine.
+ */
+public class SearchBenchmark {
+
+    /**
+     * depth of the searches.
+     */
+    private static final int DEPTH = 8;
+
+    public static void main(String[] args) {
+        List<Tile> mock = SearchFixture.createGameBoard();
+        mock.add(new HexTile(-2, 1, 1, 1));
+        mock.add(new HexTile(-2, 2, 0, 0));
+        for (boolean youngBrothersWait : new boolean[] { false, true }) {
+            double baseline = 0;
+            long baselineTime = 0;
+            for (int threads = 0; threads <= 4; threads = Math.max(1, 2 * threads)) {
+                BotPlayer bot = SearchFixture.createBot(DEPTH);
+                bot.setThreads(Math.max(1, threads)); // 0 is the warm-up of the JIT
+                bot.setYoungBrothersWait(youngBrothersWait);
+                bot.move(mock);
+                if (threads == 0)
+                    continue;
+                double nodesPerSecond = bot.getNodes() * 1e9 / bot.getSearchTime();
+                if (threads == 1) {
+                    baseline = nodesPerSecond;
+                    baselineTime = bot.getSearchTime();
+                }
+                System.out.printf("%s, threads %d: %.0f nodes/s (x%.2f), time to depth %d %d ms (x%.2f)%n",
+                        youngBrothersWait ? "young brothers wait" : "lazy SMP", threads,
+                        nodesPerSecond, nodesPerSecond / baseline, DEPTH,
+                        bot.getSearchTime() / 1000000, (double) baselineTime / bot.getSearchTime());
+            }
+        }
+    }
+}
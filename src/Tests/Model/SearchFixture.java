@@ -0,0 +1,61 @@
+package Tests.Model;
+
+import Model.AndantinoGameBoard;
+import Model.BotPlayer;
+import Model.HexTile;
+import Model.Tile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * gameboard and bot player shared by the tests of the search.
+ */
+final class SearchFixture {
+
+    private SearchFixture() {}
+
+    /**
+     * creates a gameboard of seven tiles, white has the turn.
+     *
+     * @return tiles of the gameboard
+     */
+    static List<Tile> createGameBoard() {
+        List<Tile> mock = new ArrayList<>();
+        mock.add(new HexTile(0, 0, 0, 0));
+        mock.add(new HexTile(-1, 0, 1, 1));
+        mock.add(new HexTile(0, -1, 1, 0));
+        mock.add(new HexTile(1, -1, 0, 1));
+        mock.add(new HexTile(-1, -1, 2, 0));
+        mock.add(new HexTile(0, -2, 2, 1));
+        mock.add(new HexTile(-1, 1, 0, 0));
+        return mock;
+    }
+
+    /**
+     * gets the legal moves of the player who has the turn.
+     *
+     * @param gameBoard tiles of the gameboard
+     * @return legal moves of the next player
+     */
+    static List<Tile> getLegalMoves(List<Tile> gameBoard) {
+        return AndantinoGameBoard.getAllLegalMoves(gameBoard,
+                gameBoard.get(gameBoard.size() - 1).getPlayer() ^ 1);
+    }
+
+    /**
+     * creates a white bot player with a fixed seed, which searches to the
+     * specified depth without a time limit, so its search is replayed in
+     * the same way.
+     *
+     * @param maxDepth maximum depth of the iterative deepening
+     * @return bot player
+     */
+    static BotPlayer createBot(int maxDepth) {
+        BotPlayer bot = new BotPlayer(1);
+        bot.setSeed(1);
+        bot.setMaxDepth(maxDepth);
+        bot.setTimeLimit(Long.MAX_VALUE);
+        return bot;
+    }
+}
@@ -0,0 +1,135 @@
+package Tests.Model;
+
+import Model.Expert.BridgeExpert;
+import Model.Expert.ExpertWeights;
+import Model.Expert.TexelTuner;
+import Model.HexGeometry;
+import Model.HexTile;
+import Model.SearchGameTree.AndantinoSearchPosition;
+import Model.SearchGameTree.SearchPosition;
+import Model.Supervisor.AndantinoSupervisor;
+import Model.Supervisor.GameSupervisor;
+import Model.Tile;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TexelTunerTest {
+
+    @BeforeAll
+    static void setUp() {
+        System.out.println("### tests Model - texel tuner ###");
+    }
+
+    /**
+     * writes a corpus of random games, played until a player wins.
+     */
+    private static int writeCorpus(Path corpus, int games) throws IOException {
+        GameSupervisor supervisor = new AndantinoSupervisor();
+        Random generator = new Random(5);
+        int[] moves = new int[HexGeometry.SIZE];
+        int positions = 0;
+        List<String> lines = new ArrayList<>();
+        lines.add("# random games");
+        for (int game = 0; game < games; game++) {
+            List<Tile> gameBoard = new ArrayList<>();
+            gameBoard.add(new HexTile(0, 0, 0, 0));
+            SearchPosition position = new AndantinoSearchPosition(gameBoard);
+            StringBuilder line = new StringBuilder();
+            int winner = -1;
+            while (position.size() < HexGeometry.SIZE) {
+                int size = position.getLegalMoves(moves);
+                int move = moves[generator.nextInt(size)];
+                position.makeMove(move);
+                line.append(' ').append(move);
+                if (supervisor.hasWon(position)) {
+                    winner = position.getLastPlayer();
+                    break;
+                }
+            }
+            positions += Math.max(0, position.size() - 1 - 4);
+            lines.add(winner + line.toString());
+        }
+        Files.write(corpus, lines);
+        return positions;
+    }
+
+    @Test
+    @DisplayName("tune the weights of a corpus")
+    void tune() throws IOException {
+        Path corpus = Files.createTempFile("corpus", ".txt");
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            int positions = writeCorpus(corpus, 200);
+            TexelTuner tuner = TexelTuner.load(corpus, pool);
+            assertEquals(positions, tuner.size(), "positions without the opening moves");
+            int[] weights = { 20, -20, 4, 1 };
+            tuner.fitScale(weights);
+            double error = tuner.error(weights);
+            double[] last = { error };
+            int[] iterations = { 0 };
+            int[] tuned = tuner.tune(weights, new int[] { TexelTuner.BRIDGE, TexelTuner.LINE }, 20,
+                    (iteration, iterationError, iterationWeights) -> {
+                        assertEquals(iterations[0]++, iteration, "passes in order");
+                        assertTrue(iterationError <= last[0], "the error of a pass does not increase");
+                        last[0] = iterationError;
+                    });
+            assertTrue(iterations[0] > 0, "progress of the passes");
+            assertTrue(tuner.error(tuned) <= error, "the error does not increase");
+            assertEquals(20, tuned[TexelTuner.WIN], "the win weight is not tuned");
+        } finally {
+            pool.shutdown();
+            Files.delete(corpus);
+        }
+    }
+
+    @Test
+    @DisplayName("illegal move in the corpus")
+    void illegalMove() throws IOException {
+        Path corpus = Files.createTempFile("corpus", ".txt");
+        try {
+            Files.write(corpus, List.of("1 1 100"));
+            assertThrows(IllegalArgumentException.class,
+                    () -> TexelTuner.load(corpus, ForkJoinPool.commonPool()));
+            Files.write(corpus, List.of("1 1 " + HexGeometry.SIZE));
+            assertThrows(IllegalArgumentException.class,
+                    () -> TexelTuner.load(corpus, ForkJoinPool.commonPool()), "move out of the gameboard");
+        } finally {
+            Files.delete(corpus);
+        }
+    }
+
+    @Test
+    @DisplayName("save and load the weights")
+    void weights() throws IOException {
+        Path file = Files.createTempFile("weights", ".properties");
+        try {
+            ExpertWeights weights = new ExpertWeights();
+            weights.set(ExpertWeights.BRIDGE, 9);
+            weights.save(file);
+            ExpertWeights loaded = ExpertWeights.load(file);
+            BridgeExpert bridge = new BridgeExpert();
+            loaded.apply(ExpertWeights.BRIDGE, bridge);
+            assertEquals(9, bridge.getWeight(), "weight in the file");
+            assertFalse(loaded.contains(ExpertWeights.LINE), "missing weight");
+            assertEquals(1, loaded.get(ExpertWeights.LINE, 1), "default weight");
+            Files.write(file, List.of("bridge=nine"));
+            assertThrows(IllegalArgumentException.class, () -> ExpertWeights.load(file), "invalid weight");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @AfterAll
+    static void tear() {
+        System.out.println("### executed all ###");
+    }
+}
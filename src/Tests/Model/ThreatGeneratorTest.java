@@ -0,0 +1,90 @@
+package Tests.Model;
+
+import Model.HexGeometry;
+import Model.HexTile;
+import Model.SearchGameTree.AndantinoSearchPosition;
+import Model.SearchGameTree.AndantinoThreatGenerator;
+import Model.SearchGameTree.SearchPosition;
+import Model.SearchGameTree.ThreatGenerator;
+import Model.Supervisor.AndantinoSupervisor;
+import Model.Supervisor.GameSupervisor;
+import Model.Tile;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreatGeneratorTest {
+    private final GameSupervisor supervisor = new AndantinoSupervisor();
+
+    @BeforeAll
+    static void setUp() {
+        System.out.println("### tests Model - threat generator ###");
+    }
+
+    /**
+     * determines if a player wins by placing a tile in index, even
+     * if it is not its turn.
+     */
+    private boolean wins(SearchPosition position, int index, int player) {
+        List<Tile> tiles = new ArrayList<>(position.getTiles());
+        tiles.add(HexTile.valueOf(index, player));
+        return supervisor.hasWon(new AndantinoSearchPosition(tiles));
+    }
+
+    private static boolean contains(int[] moves, int size, int move) {
+        return Arrays.stream(moves, 0, size).anyMatch(m -> m == move);
+    }
+
+    @Test
+    @DisplayName("winning and blocking moves")
+    void forcingMoves() {
+        ThreatGenerator threats = new AndantinoThreatGenerator();
+        Random generator = new Random(17);
+        int[] moves = new int[HexGeometry.SIZE];
+        int[] forcing = new int[HexGeometry.SIZE];
+        int found = 0;
+        for (int game = 0; game < 30; game++) {
+            List<Tile> gameBoard = new ArrayList<>();
+            gameBoard.add(new HexTile(0, 0, 0, 0));
+            SearchPosition position = new AndantinoSearchPosition(gameBoard);
+            for (int turn = 0; turn < 100; turn++) {
+                int size = position.getLegalMoves(moves);
+                int player = position.getPlayerTurn();
+                int winning = threats.getWinningMoves(position, forcing);
+                for (int i = 0; i < winning; i++)
+                    assertTrue(wins(position, forcing[i], player), "winning move, game " + game);
+                for (int i = 0; i < size; i++) {
+                    if (wins(position, moves[i], player))
+                        assertTrue(contains(forcing, winning, moves[i]), "all the winning moves, game " + game);
+                }
+                int blocking = threats.getBlockingMoves(position, forcing);
+                for (int i = 0; i < blocking; i++)
+                    assertTrue(wins(position, forcing[i], player ^ 1), "blocking move, game " + game);
+                for (int i = 0; i < size; i++) {
+                    if (wins(position, moves[i], player ^ 1))
+                        assertTrue(contains(forcing, blocking, moves[i]), "all the wins of the other player");
+                }
+                found += winning + blocking;
+                int threatsSize = threats.getThreatMoves(position, forcing);
+                for (int i = 0; i < threatsSize; i++)
+                    assertTrue(position.isLegalMove(forcing[i]), "legal threat");
+                position.makeMove(moves[generator.nextInt(size)]);
+                // a tile placed in an enclosed position loses the game too
+                if (supervisor.hasWon(position) || position.getGroups().isEnclosed(position.getLastIndex()))
+                    break;
+            }
+        }
+        System.out.println("winning and blocking moves: " + found);
+        assertTrue(found > 0, "forcing moves found");
+    }
+
+    @AfterAll
+    static void tear() {
+        System.out.println("### executed all ###");
+    }
+}
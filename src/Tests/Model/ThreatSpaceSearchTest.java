@@ -0,0 +1,116 @@
+package Tests.Model;
+
+import Model.BotPlayer;
+import Model.HexGeometry;
+import Model.HexTile;
+import Model.SearchGameTree.AndantinoSearchPosition;
+import Model.SearchGameTree.AndantinoThreatSpaceSearch;
+import Model.SearchGameTree.SearchPosition;
+import Model.SearchGameTree.ThreatSpaceSearch;
+import Model.Supervisor.AndantinoSupervisor;
+import Model.Supervisor.GameSupervisor;
+import Model.Tile;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreatSpaceSearchTest {
+    private final GameSupervisor supervisor = new AndantinoSupervisor();
+    private final ThreatSpaceSearch solver = new AndantinoThreatSpaceSearch();
+
+    @BeforeAll
+    static void setUp() {
+        System.out.println("### tests Model - threat-space search ###");
+    }
+
+    /**
+     * checks a proven win with a full-width defender: after the winning
+     * move, every reply of the other player must lose at once or leave
+     * a position which is proven again.
+     */
+    private void checkProof(SearchPosition position, int plies) {
+        int move = solver.solve(position);
+        assertNotEquals(-1, move, "proven position, " + plies + " plies");
+        position.makeMove(move);
+        if (!supervisor.hasWon(position)) {
+            assertTrue(plies < AndantinoThreatSpaceSearch.MAX_PLIES, "proof too long");
+            int[] replies = new int[HexGeometry.SIZE];
+            int size = position.getLegalMoves(replies);
+            replies = Arrays.copyOf(replies, size);
+            for (int reply : replies) {
+                position.makeMove(reply);
+                assertFalse(supervisor.hasWon(position), "reply wins, " + plies + " plies");
+                checkProof(position, plies + 2);
+                position.unmakeMove();
+            }
+        }
+        position.unmakeMove();
+    }
+
+    @Test
+    @DisplayName("a proven win holds against every defence")
+    void solve() {
+        Random generator = new Random(5);
+        int[] moves = new int[HexGeometry.SIZE];
+        int proofs = 0;
+        for (int game = 0; game < 60; game++) {
+            List<Tile> gameBoard = new ArrayList<>();
+            gameBoard.add(new HexTile(0, 0, 0, 0));
+            SearchPosition position = new AndantinoSearchPosition(gameBoard);
+            for (int turn = 0; turn < 120; turn++) {
+                int move = solver.solve(position);
+                if (move != -1) {
+                    position.makeMove(move);
+                    boolean immediate = supervisor.hasWon(position);
+                    position.unmakeMove();
+                    if (!immediate) {
+                        checkProof(position, 0);
+                        proofs++;
+                    }
+                }
+                int size = position.getLegalMoves(moves);
+                position.makeMove(moves[generator.nextInt(size)]);
+                if (supervisor.hasWon(position))
+                    break;
+            }
+        }
+        System.out.println("proofs longer than one move: " + proofs);
+        assertTrue(proofs > 0, "proofs found");
+    }
+
+    @Test
+    @DisplayName("the bot plays a proven win at once")
+    void botPlayer() {
+        Random generator = new Random(8);
+        int[] moves = new int[HexGeometry.SIZE];
+        List<Tile> gameBoard = new ArrayList<>();
+        gameBoard.add(new HexTile(0, 0, 0, 0));
+        SearchPosition position = new AndantinoSearchPosition(gameBoard);
+        // plays randomly until the player who has the turn has a proven win
+        while (position.size() < 3 || solver.solve(position) == -1) {
+            int size = position.getLegalMoves(moves);
+            position.makeMove(moves[generator.nextInt(size)]);
+            assertFalse(supervisor.hasWon(position), "game over before a proof");
+        }
+        int player = position.getPlayerTurn();
+        BotPlayer bot = new BotPlayer(player);
+        Tile result = bot.move(new ArrayList<>(position.getTiles()));
+        assertEquals(HexTile.valueOf(solver.solve(position), player), result, "winning move");
+        assertEquals(Integer.MAX_VALUE, bot.getScore(), "proven win");
+        assertTrue(bot.getThreatSpaceNodes() > 0, "threat-space nodes");
+        bot.setThreatSpaceSearch(false);
+        bot.setMaxDepth(2);
+        bot.move(new ArrayList<>(position.getTiles()));
+        assertEquals(0, bot.getThreatSpaceNodes(), "disabled");
+    }
+
+    @AfterAll
+    static void tear() {
+        System.out.println("### executed all ###");
+    }
+}
@@ -3,6 +3,8 @@ package Tests.Model;
 import Model.Expert.Expert;
 import Model.Expert.WinExpert;
 import Model.HexTile;
+import Model.SearchGameTree.AndantinoSearchPosition;
+import Model.SearchGameTree.SearchPosition;
 import Model.Tile;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -59,6 +61,55 @@ public class WinExpertTest {
         assertEquals(0, winExpert.getWeight(mock),"evaluate gameboard, expects 0");
     }
 
+    @Test
+    @DisplayName("row of five through the last move")
+    public void getWeightPosition() {
+        List<Tile> mock = new ArrayList<>();
+        Expert winExpert = new WinExpert();
+        mock.add(new HexTile(0, 0, 0, 0));
+        mock.add(new HexTile(0, 1, -1, 1));
+        mock.add(new HexTile(1, -1, 0, 0));
+        mock.add(new HexTile(1, 0, -1, 1));
+        mock.add(new HexTile(3, -3, 0, 0));
+        mock.add(new HexTile(2, -1, -1, 1));
+        mock.add(new HexTile(4, -4, 0, 0));
+        mock.add(new HexTile(3, -2, -1, 1));
+        SearchPosition position = new AndantinoSearchPosition(mock);
+        position.makeMove(new HexTile(2, -2, 0, 0).getIndex());
+        assertEquals(winExpert.getWeight(), winExpert.getWeight(position),
+                "the last move completes a row of five");
+        assertEquals(winExpert.getWeight(position.getTiles()), winExpert.getWeight(position),
+                "same result of the whole gameboard");
+        position.unmakeMove();
+        position.makeMove(new HexTile(5, -5, 0, 0).getIndex());
+        assertEquals(0, winExpert.getWeight(position), "four in a row and a gap");
+    }
+
+    @Test
+    @DisplayName("enclosure of a group of two tiles")
+    public void getWeightEnclosure() {
+        List<Tile> mock = new ArrayList<>();
+        Expert winExpert = new WinExpert();
+        mock.add(new HexTile(0, 0, 0, 0));
+        mock.add(new HexTile(2, -1, -1, 0));
+        mock.add(new HexTile(1, -2, 1, 0));
+        mock.add(new HexTile(0, -1, 1, 0));
+        mock.add(new HexTile(1, 0, -1, 0));
+        mock.add(new HexTile(3, -2, -1, 0));
+        mock.add(new HexTile(3, -3, 0, 0));
+        mock.add(new HexTile(1, -1, 0, 1));
+        mock.add(new HexTile(2, -2, 0, 1));
+        SearchPosition position = new AndantinoSearchPosition(mock);
+        assertEquals(0, winExpert.getWeight(position), "one empty neighbour left");
+        position.makeMove(new HexTile(2, -3, 1, 0).getIndex());
+        assertEquals(winExpert.getWeight(), winExpert.getWeight(position),
+                "the last move encloses both tiles");
+        assertEquals(winExpert.getWeight(position.getTiles()), winExpert.getWeight(position),
+                "same result of the whole gameboard");
+        position.unmakeMove();
+        assertEquals(0, winExpert.getWeight(position), "undo frees the group");
+    }
+
     @AfterAll
     static void tear() {
         System.out.println("### executed all ###");
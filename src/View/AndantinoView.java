@@ -103,7 +103,7 @@ public class AndantinoView implements GameView {
             HexButton hexBtn = (HexButton)button;
             button.setEnabled(true);
             button.addActionListener(actionEvent ->
-                    controller.move(new HexTile(hexBtn.getXAxis(), hexBtn.getYAxis(),
+                    controller.move(HexTile.valueOf(hexBtn.getXAxis(), hexBtn.getYAxis(),
                             hexBtn.getZAxis(), model.getPlayerTurn()))
             );
         });
@@ -120,7 +120,7 @@ public class AndantinoView implements GameView {
             HexButton hexBtn = (HexButton)button;
             button.setEnabled(true);
             button.addActionListener(actionEvent ->
-                    controller.moveHumanVsBot(new HexTile(
+                    controller.moveHumanVsBot(HexTile.valueOf(
                             hexBtn.getXAxis(),
                             hexBtn.getYAxis(),
                             hexBtn.getZAxis(), humanPlayer))